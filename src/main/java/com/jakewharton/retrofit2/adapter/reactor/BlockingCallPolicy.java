@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * What a synchronous call does when it is subscribed to on a
+ * {@linkplain Schedulers#isInNonBlockingThread() non-blocking thread}, such as one of Reactor's
+ * {@linkplain Schedulers#parallel() parallel scheduler} or a Netty event loop. Executing the call
+ * there stalls every other task waiting for that thread until the response arrives.
+ *
+ * @see ReactorCallAdapterFactory.Builder#blockingCallPolicy(BlockingCallPolicy)
+ */
+public enum BlockingCallPolicy {
+  /** Execute the call on the subscribing thread regardless. This is the default. */
+  ALLOW,
+  /** Fail with {@link IllegalStateException} without executing the call. */
+  FAIL,
+  /** Log a warning naming the service method and then execute the call. */
+  LOG,
+  /**
+   * Execute the call on {@linkplain Schedulers#elastic() the elastic scheduler}. Calls subscribed
+   * to on other threads still execute on the subscribing thread. This is the behavior of
+   * {@link ReactorCallAdapterFactory#createAdaptive createAdaptive(Schedulers.elastic())}, except
+   * that it also applies to calls which a
+   * {@linkplain ReactorCallAdapterFactory#createWithScheduler(Scheduler) factory's scheduler}
+   * runs on a non-blocking thread.
+   */
+  OFFLOAD
+}
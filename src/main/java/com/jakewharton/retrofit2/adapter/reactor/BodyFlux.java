@@ -16,7 +16,6 @@
 package com.jakewharton.retrofit2.adapter.reactor;
 
 import org.reactivestreams.Publisher;
-import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
 import reactor.core.publisher.Flux;
@@ -27,22 +26,34 @@ import retrofit2.Response;
 
 final class BodyFlux<T> extends Flux<T> {
   private final Publisher<Response<T>> upstream;
+  private final boolean hasEventListener;
 
-  BodyFlux(Publisher<Response<T>> upstream) {
+  BodyFlux(Publisher<Response<T>> upstream, boolean hasEventListener) {
     this.upstream = upstream;
+    this.hasEventListener = hasEventListener;
   }
 
   @Override public void subscribe(CoreSubscriber<? super T> subscriber) {
-    upstream.subscribe(new BodySubscriber<>(subscriber));
+    EventListenerFlux.EventListenerSubscriber<?> events = hasEventListener
+        ? EventListenerFlux.events(subscriber.currentContext())
+        : null;
+    upstream.subscribe(new BodySubscriber<>(subscriber, events));
   }
 
-  private static class BodySubscriber<R> implements Subscriber<Response<R>> {
-    private final Subscriber<? super R> subscriber;
+  private static class BodySubscriber<R> implements CoreSubscriber<Response<R>> {
+    private final CoreSubscriber<? super R> subscriber;
+    private final EventListenerFlux.EventListenerSubscriber<?> events;
     /** Indicates whether a terminal event has been sent to {@link #subscriber}. */
     private boolean subscriberTerminated;
 
-    BodySubscriber(Subscriber<? super R> subscriber) {
+    BodySubscriber(CoreSubscriber<? super R> subscriber,
+        EventListenerFlux.EventListenerSubscriber<?> events) {
       this.subscriber = subscriber;
+      this.events = events;
+    }
+
+    @Override public Context currentContext() {
+      return subscriber.currentContext();
     }
 
     @Override public void onSubscribe(Subscription subscription) {
@@ -51,6 +62,9 @@ final class BodyFlux<T> extends Flux<T> {
 
     @Override public void onNext(Response<R> response) {
       if (response.isSuccessful()) {
+        if (events != null) {
+          events.bodyEmitted();
+        }
         subscriber.onNext(response.body());
       } else {
         subscriberTerminated = true;
@@ -58,7 +72,7 @@ final class BodyFlux<T> extends Flux<T> {
         try {
           subscriber.onError(t);
         } catch (Throwable inner) {
-          Operators.onErrorDropped(inner, Context.empty());
+          Operators.onErrorDropped(inner, subscriber.currentContext());
         }
       }
     }
@@ -71,7 +85,7 @@ final class BodyFlux<T> extends Flux<T> {
         Throwable broken = new AssertionError(
             "This should never happen! Report as a Retrofit bug with the full stacktrace.",
             throwable);
-        Operators.onErrorDropped(broken, Context.empty());
+        Operators.onErrorDropped(broken, subscriber.currentContext());
       }
     }
 
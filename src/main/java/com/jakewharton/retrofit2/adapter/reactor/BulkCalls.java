@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.util.function.Function;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import retrofit2.Call;
+
+/**
+ * Executes many calls with a bounded number in flight, emitting a {@link Result} for each in the
+ * order the calls were received.
+ * <pre><code>
+ * Flux&lt;Result&lt;User&gt;&gt; users = BulkCalls.executeAll(ids, service::user, 16);
+ * </code></pre>
+ * Calls are {@linkplain Call#enqueue enqueued} so no thread waits for their responses. Results
+ * which arrive before those of earlier calls are held until they can be emitted in order. Held
+ * results count against the concurrency, so a slow call delays new calls rather than letting the
+ * buffer grow. Failures do not stop the remaining calls.
+ * <p>
+ * OkHttp's {@link okhttp3.Dispatcher} also limits the calls it runs at once, by default to 5 per
+ * host. Raise its {@linkplain okhttp3.Dispatcher#setMaxRequestsPerHost(int) limit} to at least
+ * {@code concurrency} for the calls to run concurrently.
+ */
+public final class BulkCalls {
+  /**
+   * Executes each call of {@code calls}, with at most {@code concurrency} in flight. Calls are
+   * cloned before they are executed, so the same call may appear more than once.
+   */
+  public static <T> Flux<Result<T>> executeAll(Publisher<? extends Call<T>> calls,
+      int concurrency) {
+    if (calls == null) throw new NullPointerException("calls == null");
+    if (concurrency < 1) throw new IllegalArgumentException("concurrency < 1: " + concurrency);
+    // A prefetch of one per call bounds the reorder buffer by the concurrency.
+    return Flux.from(calls).flatMapSequential(BulkCalls::execute, concurrency, 1);
+  }
+
+  /**
+   * Executes the call created by {@code callFactory} for each of {@code arguments}, with at most
+   * {@code concurrency} in flight. A method reference to a service method which returns
+   * {@link Call} is a natural factory.
+   */
+  public static <A, T> Flux<Result<T>> executeAll(Publisher<A> arguments,
+      Function<? super A, ? extends Call<T>> callFactory, int concurrency) {
+    if (arguments == null) throw new NullPointerException("arguments == null");
+    if (callFactory == null) throw new NullPointerException("callFactory == null");
+    return executeAll(Flux.from(arguments).map(callFactory), concurrency);
+  }
+
+  private static <T> Flux<Result<T>> execute(Call<T> call) {
+    return new ResultFlux<>(new CallEnqueueFlux<>(call, null, false), false);
+  }
+
+  private BulkCalls() {
+    throw new AssertionError();
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2016 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+final class CallEnqueueFlux<T> extends Flux<Response<T>> {
+  private final Call<T> originalCall;
+  private final Scheduler emissionScheduler;
+  private final boolean hasEventListener;
+
+  CallEnqueueFlux(Call<T> originalCall, Scheduler emissionScheduler, boolean hasEventListener) {
+    this.originalCall = originalCall;
+    this.emissionScheduler = emissionScheduler;
+    this.hasEventListener = hasEventListener;
+  }
+
+  @Override public void subscribe(CoreSubscriber<? super Response<T>> subscriber) {
+    // Since Call is a one-shot type, clone it for each new subscriber.
+    Call<T> call = originalCall.clone();
+    EventListenerFlux.EventListenerSubscriber<?> events = hasEventListener
+        ? EventListenerFlux.events(subscriber.currentContext())
+        : null;
+    if (events != null) {
+      events.callCloned(call);
+    }
+
+    // A worker per subscriber keeps its emissions on the same thread.
+    Scheduler.Worker worker = emissionScheduler != null ? emissionScheduler.createWorker() : null;
+    EnqueueSubscription<T> callback = new EnqueueSubscription<>(subscriber, call, worker, events);
+    subscriber.onSubscribe(callback);
+    if (callback.isCancelled()) {
+      if (worker != null) {
+        worker.dispose();
+      }
+      return;
+    }
+    if (events != null) {
+      events.callStart(call);
+    }
+    call.enqueue(callback);
+  }
+
+  private static final class EnqueueSubscription<T> extends CallSubscription<T>
+      implements Callback<T> {
+    private final Scheduler.Worker worker;
+    private final EventListenerFlux.EventListenerSubscriber<?> events;
+
+    EnqueueSubscription(CoreSubscriber<? super Response<T>> subscriber, Call<T> call,
+        Scheduler.Worker worker, EventListenerFlux.EventListenerSubscriber<?> events) {
+      super(subscriber, call);
+      this.worker = worker;
+      this.events = events;
+    }
+
+    @Override public void onResponse(Call<T> call, Response<T> response) {
+      if (events != null) {
+        events.responseReceived(response);
+      }
+      if (worker == null) {
+        complete(response);
+        return;
+      }
+      // Return the dispatcher thread to OkHttp before any downstream work happens. The worker is
+      // kept after cancellation so that a late response can still be closed.
+      worker.schedule(() -> {
+        complete(response);
+        worker.dispose();
+      });
+    }
+
+    @Override public void onFailure(Call<T> call, Throwable t) {
+      if (worker == null) {
+        fail(t);
+        return;
+      }
+      worker.schedule(() -> {
+        fail(t);
+        worker.dispose();
+      });
+    }
+
+    @Override void onCancel() {
+      call.cancel();
+    }
+  }
+}
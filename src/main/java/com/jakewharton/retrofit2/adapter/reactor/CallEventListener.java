@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Listener for the lifecycle of calls adapted by a {@link ReactorCallAdapterFactory}. Install one
+ * with {@link ReactorCallAdapterFactory.Builder#eventListener(CallEventListener)}; several may be
+ * installed on one factory.
+ * <p>
+ * Every subscription to an adapted stream produces the following events in order:
+ * <ol>
+ * <li>{@link #callSubscribed} when the stream is subscribed to, before any rate limiting,
+ * queueing, or scheduling.</li>
+ * <li>{@link #callCloned} and {@link #callStart} once the call is about to be sent.</li>
+ * <li>{@link #responseReceived} when the HTTP response arrives.</li>
+ * <li>{@link #bodyEmitted} or {@link #resultEmitted} when the body or {@link Result} is emitted
+ * by streams of those types.</li>
+ * <li>Exactly one of {@link #callEnd}, {@link #callFailed}, or {@link #callCanceled}. The first two
+ * are invoked once the subscriber has processed the terminal event.</li>
+ * </ol>
+ * A stream whose call never starts, such as one rejected by a {@link CircuitBreaker}, skips
+ * straight to its terminal event. Each event receives the {@link System#nanoTime()} at which it
+ * occurred so that time spent waiting, on the network, and in downstream processing can be told
+ * apart. The service {@link Method} is null if the call's request could not be created, in which
+ * case the call fails.
+ * <p>
+ * Events may be invoked on any thread and must not throw. Methods of this class do nothing by
+ * default.
+ */
+public abstract class CallEventListener {
+  public static final CallEventListener NONE = new CallEventListener() {
+  };
+
+  public void callSubscribed(Method method, long nanoTime) {
+  }
+
+  /** The per-subscriber copy of the service method's call has been made. */
+  public void callCloned(Method method, Call<?> call, long nanoTime) {
+  }
+
+  /** {@code call} is about to be executed or enqueued. */
+  public void callStart(Method method, Call<?> call, long nanoTime) {
+  }
+
+  public void responseReceived(Method method, Response<?> response, long nanoTime) {
+  }
+
+  public void bodyEmitted(Method method, long nanoTime) {
+  }
+
+  public void resultEmitted(Method method, Result<?> result, long nanoTime) {
+  }
+
+  public void callEnd(Method method, long nanoTime) {
+  }
+
+  public void callFailed(Method method, Throwable throwable, long nanoTime) {
+  }
+
+  public void callCanceled(Method method, long nanoTime) {
+  }
+
+  public interface Factory {
+    /**
+     * Creates the listener for one subscription to a stream of {@code method}. This may return a
+     * shared instance or a new one which keeps the state of a single call.
+     */
+    CallEventListener create(Method method);
+  }
+
+  static Factory factory(CallEventListener listener) {
+    return method -> listener;
+  }
+
+  /**
+   * Returns a factory whose listeners forward every event to the listeners of each of
+   * {@code factories} in order, or null if {@code factories} is empty.
+   */
+  static Factory compose(List<Factory> factories) {
+    switch (factories.size()) {
+      case 0:
+        return null;
+      case 1:
+        return factories.get(0);
+      default:
+        Factory[] array = factories.toArray(new Factory[0]);
+        return method -> {
+          CallEventListener[] listeners = new CallEventListener[array.length];
+          for (int i = 0; i < array.length; i++) {
+            listeners[i] = array[i].create(method);
+          }
+          return new Composite(listeners);
+        };
+    }
+  }
+
+  private static final class Composite extends CallEventListener {
+    private final CallEventListener[] listeners;
+
+    Composite(CallEventListener[] listeners) {
+      this.listeners = listeners;
+    }
+
+    @Override public void callSubscribed(Method method, long nanoTime) {
+      for (CallEventListener listener : listeners) {
+        listener.callSubscribed(method, nanoTime);
+      }
+    }
+
+    @Override public void callCloned(Method method, Call<?> call, long nanoTime) {
+      for (CallEventListener listener : listeners) {
+        listener.callCloned(method, call, nanoTime);
+      }
+    }
+
+    @Override public void callStart(Method method, Call<?> call, long nanoTime) {
+      for (CallEventListener listener : listeners) {
+        listener.callStart(method, call, nanoTime);
+      }
+    }
+
+    @Override public void responseReceived(Method method, Response<?> response, long nanoTime) {
+      for (CallEventListener listener : listeners) {
+        listener.responseReceived(method, response, nanoTime);
+      }
+    }
+
+    @Override public void bodyEmitted(Method method, long nanoTime) {
+      for (CallEventListener listener : listeners) {
+        listener.bodyEmitted(method, nanoTime);
+      }
+    }
+
+    @Override public void resultEmitted(Method method, Result<?> result, long nanoTime) {
+      for (CallEventListener listener : listeners) {
+        listener.resultEmitted(method, result, nanoTime);
+      }
+    }
+
+    @Override public void callEnd(Method method, long nanoTime) {
+      for (CallEventListener listener : listeners) {
+        listener.callEnd(method, nanoTime);
+      }
+    }
+
+    @Override public void callFailed(Method method, Throwable throwable, long nanoTime) {
+      for (CallEventListener listener : listeners) {
+        listener.callFailed(method, throwable, nanoTime);
+      }
+    }
+
+    @Override public void callCanceled(Method method, long nanoTime) {
+      for (CallEventListener listener : listeners) {
+        listener.callCanceled(method, nanoTime);
+      }
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2016 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.reflect.Method;
+import java.util.logging.Logger;
+import okhttp3.Request;
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.core.scheduler.Schedulers;
+import retrofit2.Call;
+import retrofit2.Invocation;
+import retrofit2.Response;
+
+final class CallExecuteFlux<T> extends Flux<Response<T>> {
+  private static final Logger logger = Logger.getLogger(ReactorCallAdapterFactory.class.getName());
+
+  private final Call<T> originalCall;
+  private final boolean hasEventListener;
+  private final BlockingCallPolicy blockingCallPolicy;
+
+  CallExecuteFlux(Call<T> originalCall, boolean hasEventListener,
+      BlockingCallPolicy blockingCallPolicy) {
+    this.originalCall = originalCall;
+    this.hasEventListener = hasEventListener;
+    this.blockingCallPolicy = blockingCallPolicy;
+  }
+
+  @Override public void subscribe(CoreSubscriber<? super Response<T>> subscriber) {
+    if (blockingCallPolicy != BlockingCallPolicy.ALLOW && Schedulers.isInNonBlockingThread()) {
+      String message = "Synchronous " + describe(originalCall)
+          + " blocks non-blocking thread " + Thread.currentThread().getName();
+      if (blockingCallPolicy == BlockingCallPolicy.FAIL) {
+        Operators.error(subscriber, new IllegalStateException(message));
+        return;
+      }
+      if (blockingCallPolicy == BlockingCallPolicy.LOG) {
+        logger.warning(message);
+      }
+    }
+
+    // Since Call is a one-shot type, clone it for each new subscriber.
+    Call<T> call = originalCall.clone();
+    EventListenerFlux.EventListenerSubscriber<?> events = hasEventListener
+        ? EventListenerFlux.events(subscriber.currentContext())
+        : null;
+    if (events != null) {
+      events.callCloned(call);
+    }
+
+    ExecuteSubscription<T> subscription = new ExecuteSubscription<>(subscriber, call);
+    subscriber.onSubscribe(subscription);
+    if (subscription.isCancelled()) {
+      return;
+    }
+
+    Response<T> response;
+    try {
+      if (events != null) {
+        events.callStart(call);
+      }
+      response = call.execute();
+    } catch (Throwable t) {
+      Exceptions.throwIfFatal(t);
+      subscription.fail(t);
+      return;
+    }
+    if (events != null) {
+      events.responseReceived(response);
+    }
+    subscription.complete(response);
+  }
+
+  private static String describe(Call<?> call) {
+    Request request;
+    try {
+      request = call.request();
+    } catch (RuntimeException e) {
+      return "call"; // The call will fail with the same exception when it is executed.
+    }
+    Invocation invocation = request.tag(Invocation.class);
+    if (invocation == null) {
+      return "call to " + request.url();
+    }
+    Method method = invocation.method();
+    return "call to " + method.getDeclaringClass().getName() + "." + method.getName();
+  }
+
+  private static final class ExecuteSubscription<T> extends CallSubscription<T> {
+    ExecuteSubscription(CoreSubscriber<? super Response<T>> subscriber, Call<T> call) {
+      super(subscriber, call);
+    }
+
+    @Override void onCancel() {
+      call.cancel();
+    }
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * The default priority of calls to the annotated service method when they wait in a
+ * {@link CallQueue}. Higher priorities start first. Calls to methods without this annotation have
+ * priority zero. A priority in the subscriber's {@link reactor.util.context.Context} under
+ * {@link CallQueue#PRIORITY_KEY} takes precedence.
+ */
+@Documented
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface CallPriority {
+  int value();
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import reactor.core.scheduler.Scheduler;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Limits the number of concurrently executing calls, ordering those which must wait by priority
+ * and sharing capacity fairly between tenants.
+ * <p>
+ * A call's priority is read from the {@link #PRIORITY_KEY} entry of its subscriber's
+ * {@link reactor.util.context.Context}, falling back to the value of the service method's
+ * {@link CallPriority} annotation or zero. Higher priorities start first. To prevent starvation,
+ * waiting raises a call's effective priority by one level every
+ * {@linkplain Builder#agingInterval(Duration) aging interval}.
+ * <p>
+ * A call's tenant is read from the {@link #TENANT_KEY} entry of its subscriber's context. Calls
+ * without a tenant share a single default tenant. When a slot frees up it goes to the waiting
+ * tenant with the fewest running calls relative to its {@linkplain Builder#tenantWeight weight},
+ * and within that tenant to the call with the highest effective priority. A tenant may borrow
+ * every free slot while no other tenant is waiting, up to an optional
+ * {@linkplain Builder#maxConcurrentCallsPerTenant(int) per-tenant limit}.
+ * <p>
+ * Calls wait in this queue before they are cloned, and so before they reach OkHttp's dispatcher.
+ * Waiting does not block a thread. A synchronous call which waited executes on
+ * {@linkplain reactor.core.scheduler.Schedulers#elastic() the elastic scheduler}, or the scheduler
+ * of {@link ReactorCallAdapterFactory#createAdaptive createAdaptive}, rather than on the thread of
+ * the call which freed its slot.
+ */
+public final class CallQueue {
+  /** The {@link reactor.util.context.Context} key of an {@link Integer} call priority. */
+  public static final String PRIORITY_KEY = "retrofit2.adapter.reactor.priority";
+  /** The {@link reactor.util.context.Context} key of a call's tenant. Any non-null value. */
+  public static final String TENANT_KEY = "retrofit2.adapter.reactor.tenant";
+
+  private static final Object DEFAULT_TENANT = new Object();
+
+  private final int maxConcurrentCalls;
+  private final int maxConcurrentCallsPerTenant;
+  private final long agingNanos;
+  private final Map<Object, Integer> tenantWeights;
+  /** Measures time, or null to use {@link System#nanoTime()}. */
+  private final Scheduler scheduler;
+
+  /** Tenants which have running or queued calls. Guarded by {@code this}. */
+  private final Map<Object, Tenant> tenants = new LinkedHashMap<>();
+  private int queuedCalls;
+  private int runningCalls;
+  private long sequence;
+  private final AtomicInteger drainWip = new AtomicInteger();
+
+  CallQueue(Builder builder) {
+    this.maxConcurrentCalls = builder.maxConcurrentCalls;
+    this.maxConcurrentCallsPerTenant = builder.maxConcurrentCallsPerTenant;
+    this.agingNanos = builder.agingInterval.toNanos();
+    this.tenantWeights = new LinkedHashMap<>(builder.tenantWeights);
+    this.scheduler = builder.scheduler;
+  }
+
+  /** Returns the number of calls which are waiting to start. */
+  public synchronized int queuedCallsCount() {
+    return queuedCalls;
+  }
+
+  /** Returns the number of calls which have started and not yet completed. */
+  public synchronized int runningCallsCount() {
+    return runningCalls;
+  }
+
+  /** Returns the number of calls for {@code tenant} which have started and not yet completed. */
+  public synchronized int runningCallsCount(Object tenant) {
+    Tenant state = tenants.get(tenant);
+    return state != null ? state.running : 0;
+  }
+
+  /**
+   * Queue {@code call} to be {@linkplain Pending#start() started} once a slot is available.
+   *
+   * @param tenant the tenant on whose behalf the call is made, or null for the default tenant.
+   */
+  void enqueue(Pending call, int priority, Object tenant) {
+    if (tenant == null) {
+      tenant = DEFAULT_TENANT;
+    }
+    synchronized (this) {
+      Tenant state = tenants.get(tenant);
+      if (state == null) {
+        Integer weight = tenantWeights.get(tenant);
+        state = new Tenant(tenant, weight != null ? weight : 1);
+        tenants.put(tenant, state);
+      }
+      call.tenant = state;
+      long now = scheduler != null ? scheduler.now(NANOSECONDS) : System.nanoTime();
+      call.rank = now - priority * agingNanos;
+      call.sequence = sequence++;
+      state.pending.add(call);
+      queuedCalls++;
+    }
+    drain();
+  }
+
+  /** Remove a call which has not yet started. Returns false if it already started. */
+  synchronized boolean remove(Pending call) {
+    Tenant tenant = call.tenant;
+    if (!tenant.pending.remove(call)) {
+      return false;
+    }
+    queuedCalls--;
+    removeIfIdle(tenant);
+    return true;
+  }
+
+  /** Return the slot of a started call which has completed or been canceled. */
+  void release(Pending call) {
+    synchronized (this) {
+      Tenant tenant = call.tenant;
+      tenant.running--;
+      runningCalls--;
+      removeIfIdle(tenant);
+    }
+    drain();
+  }
+
+  private void drain() {
+    // Calls may complete synchronously inside start() and release their slot. Only the outermost
+    // drain starts calls so that the stack does not grow with the number of queued calls.
+    if (drainWip.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    do {
+      while (true) {
+        Pending next;
+        synchronized (this) {
+          if (runningCalls >= maxConcurrentCalls) break;
+          Tenant tenant = nextTenant();
+          if (tenant == null) break;
+          next = tenant.pending.poll();
+          queuedCalls--;
+          tenant.running++;
+          runningCalls++;
+        }
+        next.start();
+      }
+      missed = drainWip.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  /**
+   * Returns the waiting tenant whose weighted share of running calls would be lowest after starting
+   * another call, breaking ties by the rank of their next call. Must hold {@code this}.
+   */
+  private Tenant nextTenant() {
+    Tenant best = null;
+    for (Tenant tenant : tenants.values()) {
+      if (tenant.pending.isEmpty() || tenant.running >= maxConcurrentCallsPerTenant) continue;
+      if (best == null) {
+        best = tenant;
+        continue;
+      }
+      // Compare (running + 1) / weight without division.
+      long share = (tenant.running + 1L) * best.weight;
+      long bestShare = (best.running + 1L) * tenant.weight;
+      if (share < bestShare
+          || share == bestShare && tenant.pending.peek().compareTo(best.pending.peek()) < 0) {
+        best = tenant;
+      }
+    }
+    return best;
+  }
+
+  /** Forget {@code tenant} once it has no calls. Must hold {@code this}. */
+  private void removeIfIdle(Tenant tenant) {
+    if (tenant.running == 0 && tenant.pending.isEmpty()) {
+      tenants.remove(tenant.key);
+    }
+  }
+
+  private static final class Tenant {
+    final Object key;
+    final int weight;
+    final PriorityQueue<Pending> pending = new PriorityQueue<>();
+    int running;
+
+    Tenant(Object key, int weight) {
+      this.key = key;
+      this.weight = weight;
+    }
+  }
+
+  /** A call waiting for a slot. */
+  abstract static class Pending implements Comparable<Pending> {
+    Tenant tenant;
+    long rank;
+    long sequence;
+
+    /** Start the call. Its slot must later be {@linkplain CallQueue#release released}. */
+    abstract void start();
+
+    @Override public int compareTo(Pending other) {
+      int result = Long.compare(rank, other.rank);
+      return result != 0 ? result : Long.compare(sequence, other.sequence);
+    }
+  }
+
+  /** Configures a {@link CallQueue}. */
+  public static final class Builder {
+    int maxConcurrentCalls = 64;
+    int maxConcurrentCallsPerTenant = Integer.MAX_VALUE;
+    final Map<Object, Integer> tenantWeights = new LinkedHashMap<>();
+    Duration agingInterval = Duration.ofSeconds(1);
+    Scheduler scheduler;
+
+    /** The maximum number of calls which may execute at once. Defaults to 64. */
+    public Builder maxConcurrentCalls(int maxConcurrentCalls) {
+      if (maxConcurrentCalls < 1) {
+        throw new IllegalArgumentException("maxConcurrentCalls < 1: " + maxConcurrentCalls);
+      }
+      this.maxConcurrentCalls = maxConcurrentCalls;
+      return this;
+    }
+
+    /**
+     * The maximum number of calls for a single tenant which may execute at once, even when other
+     * slots are free. Unlimited by default.
+     */
+    public Builder maxConcurrentCallsPerTenant(int maxConcurrentCallsPerTenant) {
+      if (maxConcurrentCallsPerTenant < 1) {
+        throw new IllegalArgumentException(
+            "maxConcurrentCallsPerTenant < 1: " + maxConcurrentCallsPerTenant);
+      }
+      this.maxConcurrentCallsPerTenant = maxConcurrentCallsPerTenant;
+      return this;
+    }
+
+    /**
+     * The share of capacity {@code tenant} receives relative to other tenants when calls are
+     * waiting. Tenants have a weight of 1 by default.
+     */
+    public Builder tenantWeight(Object tenant, int weight) {
+      if (tenant == null) throw new NullPointerException("tenant == null");
+      if (weight < 1) throw new IllegalArgumentException("weight < 1: " + weight);
+      tenantWeights.put(tenant, weight);
+      return this;
+    }
+
+    /**
+     * How long a call must wait to be ordered as if its priority were one higher. Defaults to 1
+     * second.
+     */
+    public Builder agingInterval(Duration agingInterval) {
+      if (agingInterval == null) throw new NullPointerException("agingInterval == null");
+      if (agingInterval.isNegative()) {
+        throw new IllegalArgumentException("agingInterval < 0: " + agingInterval);
+      }
+      this.agingInterval = agingInterval;
+      return this;
+    }
+
+    /**
+     * The scheduler whose {@linkplain Scheduler#now clock} measures waiting time. Defaults to
+     * {@link System#nanoTime()}.
+     */
+    public Builder scheduler(Scheduler scheduler) {
+      if (scheduler == null) throw new NullPointerException("scheduler == null");
+      this.scheduler = scheduler;
+      return this;
+    }
+
+    public CallQueue build() {
+      return new CallQueue(this);
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.context.Context;
+import retrofit2.Response;
+
+final class CallQueueFlux<T> extends Flux<Response<T>> {
+  private final Publisher<Response<T>> upstream;
+  private final CallQueue callQueue;
+  private final int priority;
+  /**
+   * Starts calls which were started by another thread, such as one whose call released its slot,
+   * or null to start them on that thread.
+   */
+  private final Scheduler startScheduler;
+
+  CallQueueFlux(Publisher<Response<T>> upstream, CallQueue callQueue, int priority,
+      Scheduler startScheduler) {
+    this.upstream = upstream;
+    this.callQueue = callQueue;
+    this.priority = priority;
+    this.startScheduler = startScheduler;
+  }
+
+  @Override public void subscribe(CoreSubscriber<? super Response<T>> subscriber) {
+    QueuedSubscriber<T> queued =
+        new QueuedSubscriber<>(subscriber, upstream, callQueue, startScheduler);
+    subscriber.onSubscribe(queued.subscription);
+    Context context = subscriber.currentContext();
+    Integer priority = context.getOrDefault(CallQueue.PRIORITY_KEY, null);
+    Object tenant = context.getOrDefault(CallQueue.TENANT_KEY, null);
+    callQueue.enqueue(queued, priority != null ? priority : this.priority, tenant);
+  }
+
+  private static final class QueuedSubscriber<R> extends CallQueue.Pending
+      implements CoreSubscriber<Response<R>> {
+    private final CoreSubscriber<? super Response<R>> subscriber;
+    private final Publisher<Response<R>> upstream;
+    private final CallQueue callQueue;
+    private final Scheduler startScheduler;
+    private final Thread subscribing = Thread.currentThread();
+    final Operators.DeferredSubscription subscription = new Operators.DeferredSubscription() {
+      @Override public void cancel() {
+        super.cancel();
+        if (!callQueue.remove(QueuedSubscriber.this)) {
+          release();
+        }
+      }
+    };
+    /** Non-zero once the slot of a started call has been returned to the queue. */
+    private volatile int released;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<QueuedSubscriber> RELEASED =
+        AtomicIntegerFieldUpdater.newUpdater(QueuedSubscriber.class, "released");
+
+    QueuedSubscriber(CoreSubscriber<? super Response<R>> subscriber,
+        Publisher<Response<R>> upstream, CallQueue callQueue, Scheduler startScheduler) {
+      this.subscriber = subscriber;
+      this.upstream = upstream;
+      this.callQueue = callQueue;
+      this.startScheduler = startScheduler;
+    }
+
+    @Override void start() {
+      if (startScheduler != null && Thread.currentThread() != subscribing) {
+        // A synchronous call would otherwise execute on the thread of the call which released its
+        // slot, delaying that thread's caller until this call completes.
+        startScheduler.schedule(() -> upstream.subscribe(this));
+      } else {
+        upstream.subscribe(this);
+      }
+    }
+
+    void release() {
+      if (RELEASED.compareAndSet(this, 0, 1)) {
+        callQueue.release(this);
+      }
+    }
+
+    @Override public Context currentContext() {
+      return subscriber.currentContext();
+    }
+
+    @Override public void onSubscribe(Subscription s) {
+      subscription.set(s);
+    }
+
+    @Override public void onNext(Response<R> response) {
+      subscriber.onNext(response);
+    }
+
+    // The slot is released after the terminal signal so that the subscriber is not kept waiting
+    // while the next queued call starts.
+
+    @Override public void onError(Throwable throwable) {
+      subscriber.onError(throwable);
+      release();
+    }
+
+    @Override public void onComplete() {
+      subscriber.onComplete();
+      release();
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Operators;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Delivers the single response of {@link #call} once it has been requested. A response which
+ * arrives after the subscriber cancels has its body closed since nobody will read it.
+ */
+abstract class CallSubscription<T> implements Subscription {
+  private static final int REQUESTED = 1;
+  private static final int HAS_RESPONSE = 2;
+  private static final int TERMINATED = 4;
+  private static final int CANCELLED = 8;
+
+  final CoreSubscriber<? super Response<T>> subscriber;
+  final Call<T> call;
+  /** Published by the write of {@link #state} which sets {@link #HAS_RESPONSE}. */
+  private Response<T> response;
+  private volatile int state;
+  @SuppressWarnings("rawtypes")
+  private static final AtomicIntegerFieldUpdater<CallSubscription> STATE =
+      AtomicIntegerFieldUpdater.newUpdater(CallSubscription.class, "state");
+
+  CallSubscription(CoreSubscriber<? super Response<T>> subscriber, Call<T> call) {
+    this.subscriber = subscriber;
+    this.call = call;
+  }
+
+  /** Invoked once when the subscriber cancels before termination. */
+  abstract void onCancel();
+
+  final boolean isCancelled() {
+    return (state & CANCELLED) != 0;
+  }
+
+  @Override public final void request(long n) {
+    if (!Operators.validate(n)) {
+      return;
+    }
+    for (;;) {
+      int state = this.state;
+      if ((state & REQUESTED) != 0) {
+        return;
+      }
+      if (STATE.compareAndSet(this, state, state | REQUESTED)) {
+        if (state == HAS_RESPONSE) {
+          deliver();
+        }
+        return;
+      }
+    }
+  }
+
+  final void complete(Response<T> response) {
+    this.response = response;
+    for (;;) {
+      int state = this.state;
+      if ((state & CANCELLED) != 0) {
+        closeQuietly(response);
+        return;
+      }
+      if (STATE.compareAndSet(this, state, state | HAS_RESPONSE)) {
+        if (state == REQUESTED) {
+          deliver();
+        }
+        return;
+      }
+    }
+  }
+
+  /** Invoked when both the response and a request are present. Only one caller observes that. */
+  private void deliver() {
+    for (;;) {
+      int state = this.state;
+      if ((state & CANCELLED) != 0) {
+        return; // cancel() saw the response and closed it.
+      }
+      if (STATE.compareAndSet(this, state, state | TERMINATED)) {
+        break;
+      }
+    }
+    subscriber.onNext(response);
+    if (!isCancelled()) {
+      subscriber.onComplete();
+    }
+  }
+
+  final void fail(Throwable throwable) {
+    for (;;) {
+      int state = this.state;
+      if ((state & (CANCELLED | TERMINATED)) != 0) {
+        return; // Canceling the call causes it to fail. Nobody is listening.
+      }
+      if (STATE.compareAndSet(this, state, state | TERMINATED)) {
+        subscriber.onError(throwable);
+        return;
+      }
+    }
+  }
+
+  @Override public final void cancel() {
+    for (;;) {
+      int state = this.state;
+      if ((state & (CANCELLED | TERMINATED)) != 0) {
+        return;
+      }
+      if (STATE.compareAndSet(this, state, state | CANCELLED)) {
+        if ((state & HAS_RESPONSE) != 0) {
+          closeQuietly(response);
+        }
+        onCancel();
+        return;
+      }
+    }
+  }
+
+  private static void closeQuietly(Response<?> response) {
+    Object body = response.body();
+    if (body instanceof Closeable) {
+      try {
+        ((Closeable) body).close();
+      } catch (IOException ignored) {
+      }
+    }
+    if (response.errorBody() != null) {
+      response.errorBody().close();
+    }
+  }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.io.IOException;
+
+/**
+ * Signaled when a call to a {@link SwitchLatest} method is canceled because a newer call with the
+ * same key was subscribed to.
+ */
+public final class CallSupersededException extends IOException {
+  private static final long serialVersionUID = 1L;
+
+  CallSupersededException() {
+    super("Call superseded by a newer call");
+  }
+}
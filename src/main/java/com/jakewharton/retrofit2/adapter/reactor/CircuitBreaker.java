@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.time.Duration;
+import reactor.core.scheduler.Scheduler;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Rejects calls without sending them while an upstream is failing.
+ * <p>
+ * The outcome of the most recent {@linkplain Builder#windowSize(int) window} of calls is recorded.
+ * A call fails if it signals an error or receives a 5XX response, and is slow if it takes at least
+ * {@linkplain Builder#slowCallDuration(Duration) the slow call duration}. Calls which fail without
+ * being sent, such as those rejected by a rate limiter or whose deadline elapses while they wait,
+ * and calls superseded by a newer {@link SwitchLatest} call are not recorded. Once the window
+ * holds {@linkplain Builder#minimumCalls(int) enough calls} and either the failure rate or the
+ * slow call rate reaches its threshold, the circuit opens. While open, calls immediately fail with
+ * {@link CircuitBreakerOpenException} without being cloned or executed. After
+ * {@linkplain Builder#openDuration(Duration) the open duration} the circuit lets a limited number
+ * of probe calls through and closes again only if they are healthy.
+ */
+public final class CircuitBreaker {
+  enum State { CLOSED, OPEN, HALF_OPEN }
+
+  private final double failureRateThreshold;
+  private final double slowCallRateThreshold;
+  private final long slowCallNanos;
+  private final int minimumCalls;
+  private final long openNanos;
+  private final int halfOpenCalls;
+  /** Measures time, or null to use {@link System#nanoTime()}. */
+  private final Scheduler scheduler;
+
+  /** Ring buffer of recent outcomes. Guarded by {@code this}. */
+  private final byte[] outcomes;
+  private int outcomeIndex;
+  private int outcomeCount;
+  private int failureCount;
+  private int slowCount;
+  private State state = State.CLOSED;
+  private long openedAtNanos;
+  /** Probes which have been permitted but have not yet recorded an outcome while half-open. */
+  private int halfOpenInFlight;
+  /** Incremented on every transition so that permits from an earlier state can be ignored. */
+  private long generation;
+
+  /** Returned by {@link #tryAcquire()} when a call may not proceed. */
+  static final long REJECTED = -1;
+
+  private static final byte FAILURE = 1;
+  private static final byte SLOW = 2;
+
+  CircuitBreaker(Builder builder) {
+    this.failureRateThreshold = builder.failureRateThreshold;
+    this.slowCallRateThreshold = builder.slowCallRateThreshold;
+    this.slowCallNanos = builder.slowCallDuration.toNanos();
+    this.minimumCalls = builder.minimumCalls;
+    this.openNanos = builder.openDuration.toNanos();
+    this.halfOpenCalls = builder.halfOpenCalls;
+    this.scheduler = builder.scheduler;
+    this.outcomes = new byte[builder.windowSize];
+  }
+
+  synchronized State state() {
+    return state;
+  }
+
+  /** Returns the current time used to measure call durations. */
+  long now() {
+    return scheduler != null ? scheduler.now(NANOSECONDS) : System.nanoTime();
+  }
+
+  /**
+   * Returns a permit if a call may proceed, or {@link #REJECTED}. Every permit must later
+   * {@linkplain #record record} its call's outcome or be {@linkplain #release released}.
+   */
+  synchronized long tryAcquire() {
+    if (state == State.OPEN) {
+      if (now() - openedAtNanos < openNanos) {
+        return REJECTED;
+      }
+      transition(State.HALF_OPEN);
+    }
+    if (state == State.HALF_OPEN) {
+      if (halfOpenInFlight + outcomeCount >= halfOpenCalls) {
+        return REJECTED;
+      }
+      halfOpenInFlight++;
+    }
+    return generation;
+  }
+
+  /** Return {@code permit} which was acquired by a call that was canceled before completing. */
+  synchronized void release(long permit) {
+    if (permit == generation && state == State.HALF_OPEN) {
+      halfOpenInFlight--;
+    }
+  }
+
+  synchronized void record(long permit, boolean failed, long startNanos) {
+    if (permit != generation) {
+      // The call started in an earlier state. A call which started while closed must not count
+      // as a probe, and a probe must not count against the circuit it closed.
+      return;
+    }
+    if (state == State.HALF_OPEN) {
+      halfOpenInFlight--;
+    }
+
+    boolean slow = now() - startNanos >= slowCallNanos;
+    byte outcome = (byte) ((failed ? FAILURE : 0) | (slow ? SLOW : 0));
+    if (outcomeCount == outcomes.length) {
+      byte evicted = outcomes[outcomeIndex];
+      if ((evicted & FAILURE) != 0) failureCount--;
+      if ((evicted & SLOW) != 0) slowCount--;
+    } else {
+      outcomeCount++;
+    }
+    outcomes[outcomeIndex] = outcome;
+    outcomeIndex = (outcomeIndex + 1) % outcomes.length;
+    if (failed) failureCount++;
+    if (slow) slowCount++;
+
+    if (state == State.HALF_OPEN) {
+      if (exceedsThresholds()) {
+        transition(State.OPEN);
+      } else if (outcomeCount >= halfOpenCalls) {
+        transition(State.CLOSED);
+      }
+    } else if (outcomeCount >= minimumCalls && exceedsThresholds()) {
+      transition(State.OPEN);
+    }
+  }
+
+  private boolean exceedsThresholds() {
+    return failureCount >= failureRateThreshold * outcomeCount
+        || slowCount >= slowCallRateThreshold * outcomeCount;
+  }
+
+  /** Move to {@code state} and start a fresh window of outcomes. Must hold {@code this}. */
+  private void transition(State state) {
+    this.state = state;
+    generation++;
+    outcomeIndex = 0;
+    outcomeCount = 0;
+    failureCount = 0;
+    slowCount = 0;
+    halfOpenInFlight = 0;
+    if (state == State.OPEN) {
+      openedAtNanos = now();
+    }
+  }
+
+  /** Configures a {@link CircuitBreaker}. */
+  public static final class Builder {
+    double failureRateThreshold = 0.5;
+    double slowCallRateThreshold = 1.0;
+    Duration slowCallDuration = Duration.ofSeconds(60);
+    int windowSize = 100;
+    int minimumCalls = 10;
+    Duration openDuration = Duration.ofSeconds(30);
+    int halfOpenCalls = 5;
+    Scheduler scheduler;
+
+    /**
+     * Open the circuit when at least this fraction of calls in the window fail. Defaults to 0.5.
+     */
+    public Builder failureRateThreshold(double threshold) {
+      if (!(threshold > 0 && threshold <= 1)) {
+        throw new IllegalArgumentException("threshold must be in (0, 1]: " + threshold);
+      }
+      this.failureRateThreshold = threshold;
+      return this;
+    }
+
+    /**
+     * Open the circuit when at least this fraction of calls in the window are slow. Defaults to
+     * 1.0.
+     */
+    public Builder slowCallRateThreshold(double threshold) {
+      if (!(threshold > 0 && threshold <= 1)) {
+        throw new IllegalArgumentException("threshold must be in (0, 1]: " + threshold);
+      }
+      this.slowCallRateThreshold = threshold;
+      return this;
+    }
+
+    /** Calls taking at least {@code duration} are slow. Defaults to 60 seconds. */
+    public Builder slowCallDuration(Duration duration) {
+      if (duration == null) throw new NullPointerException("duration == null");
+      this.slowCallDuration = duration;
+      return this;
+    }
+
+    /** The number of most recent calls whose outcome is considered. Defaults to 100. */
+    public Builder windowSize(int size) {
+      if (size < 1) throw new IllegalArgumentException("size < 1: " + size);
+      this.windowSize = size;
+      return this;
+    }
+
+    /** The number of calls which must be recorded before the circuit may open. Defaults to 10. */
+    public Builder minimumCalls(int count) {
+      if (count < 1) throw new IllegalArgumentException("count < 1: " + count);
+      this.minimumCalls = count;
+      return this;
+    }
+
+    /** How long the circuit rejects calls before probing. Defaults to 30 seconds. */
+    public Builder openDuration(Duration duration) {
+      if (duration == null) throw new NullPointerException("duration == null");
+      this.openDuration = duration;
+      return this;
+    }
+
+    /** The number of probe calls permitted when the open duration elapses. Defaults to 5. */
+    public Builder halfOpenCalls(int count) {
+      if (count < 1) throw new IllegalArgumentException("count < 1: " + count);
+      this.halfOpenCalls = count;
+      return this;
+    }
+
+    /**
+     * The scheduler whose {@linkplain Scheduler#now clock} measures time. Defaults to
+     * {@link System#nanoTime()}.
+     */
+    public Builder scheduler(Scheduler scheduler) {
+      if (scheduler == null) throw new NullPointerException("scheduler == null");
+      this.scheduler = scheduler;
+      return this;
+    }
+
+    public CircuitBreaker build() {
+      if (minimumCalls > windowSize) {
+        throw new IllegalStateException(
+            "minimumCalls (" + minimumCalls + ") > windowSize (" + windowSize + ")");
+      }
+      if (halfOpenCalls > windowSize) {
+        throw new IllegalStateException(
+            "halfOpenCalls (" + halfOpenCalls + ") > windowSize (" + windowSize + ")");
+      }
+      return new CircuitBreaker(this);
+    }
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Function;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.util.context.Context;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Rejects calls while their {@link CircuitBreaker} is open and records the outcome of the others.
+ * This is applied outside any waiting for permits, queue slots, or threads so that rejected calls
+ * hold none of them. Calls are timed from their {@link StartFlux} so waiting is not slowness.
+ * <p>
+ * Only calls which reach their {@link StartFlux} have their outcome recorded. A call which fails
+ * before then, like one rejected by a fail-fast rate limiter or whose deadline elapses while it
+ * waits, never reached the server. Neither did the failure of a call superseded by a newer
+ * {@link SwitchLatest} call. Those release their permit instead.
+ */
+final class CircuitBreakerFlux<T> extends Flux<Response<T>> {
+  private final Publisher<Response<T>> upstream;
+  private final Call<T> call;
+  private final Function<Call<?>, CircuitBreaker> circuitBreakers;
+
+  CircuitBreakerFlux(Publisher<Response<T>> upstream, Call<T> call,
+      Function<Call<?>, CircuitBreaker> circuitBreakers) {
+    this.upstream = upstream;
+    this.call = call;
+    this.circuitBreakers = circuitBreakers;
+  }
+
+  @Override public void subscribe(CoreSubscriber<? super Response<T>> subscriber) {
+    CircuitBreaker circuitBreaker = circuitBreakers.apply(call);
+    long permit = circuitBreaker.tryAcquire();
+    if (permit == CircuitBreaker.REJECTED) {
+      // Fail before the upstream subscription can clone the call.
+      Operators.error(subscriber, new CircuitBreakerOpenException());
+      return;
+    }
+    upstream.subscribe(new CircuitBreakerSubscriber<>(subscriber, circuitBreaker, permit));
+  }
+
+  private static final class CircuitBreakerSubscriber<R>
+      implements CoreSubscriber<Response<R>>, Subscription {
+    private final CoreSubscriber<? super Response<R>> subscriber;
+    private final CircuitBreaker circuitBreaker;
+    private final long permit;
+    private final Context context;
+    private volatile long startNanos;
+    /** True once the call has been subscribed to after waiting in the stages before it. */
+    private volatile boolean started;
+    private Subscription subscription;
+    /** Non-zero once an outcome has been recorded or the permit released. */
+    private volatile int done;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<CircuitBreakerSubscriber> DONE =
+        AtomicIntegerFieldUpdater.newUpdater(CircuitBreakerSubscriber.class, "done");
+
+    CircuitBreakerSubscriber(CoreSubscriber<? super Response<R>> subscriber,
+        CircuitBreaker circuitBreaker, long permit) {
+      this.subscriber = subscriber;
+      this.circuitBreaker = circuitBreaker;
+      this.permit = permit;
+      this.context = subscriber.currentContext().put(CircuitBreakerSubscriber.class, this);
+      this.startNanos = circuitBreaker.now();
+    }
+
+    void started() {
+      startNanos = circuitBreaker.now();
+      started = true;
+    }
+
+    @Override public Context currentContext() {
+      return context;
+    }
+
+    @Override public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+      subscriber.onSubscribe(this);
+    }
+
+    @Override public void onNext(Response<R> response) {
+      if (DONE.compareAndSet(this, 0, 1)) {
+        circuitBreaker.record(permit, response.code() >= 500, startNanos);
+      }
+      subscriber.onNext(response);
+    }
+
+    @Override public void onError(Throwable throwable) {
+      if (DONE.compareAndSet(this, 0, 1)) {
+        if (started && !(throwable instanceof CallSupersededException)) {
+          circuitBreaker.record(permit, true, startNanos);
+        } else {
+          circuitBreaker.release(permit);
+        }
+      }
+      subscriber.onError(throwable);
+    }
+
+    @Override public void onComplete() {
+      subscriber.onComplete();
+    }
+
+    @Override public void request(long n) {
+      subscription.request(n);
+    }
+
+    @Override public void cancel() {
+      if (DONE.compareAndSet(this, 0, 1)) {
+        circuitBreaker.release(permit);
+      }
+      subscription.cancel();
+    }
+  }
+
+  /** Marks when a call starts after waiting in the stages between it and the circuit breaker. */
+  static final class StartFlux<T> extends Flux<Response<T>> {
+    private final Publisher<Response<T>> upstream;
+
+    StartFlux(Publisher<Response<T>> upstream) {
+      this.upstream = upstream;
+    }
+
+    @Override public void subscribe(CoreSubscriber<? super Response<T>> subscriber) {
+      CircuitBreakerSubscriber<?> circuitBreakerSubscriber =
+          subscriber.currentContext().getOrDefault(CircuitBreakerSubscriber.class, null);
+      if (circuitBreakerSubscriber != null) {
+        circuitBreakerSubscriber.started();
+      }
+      upstream.subscribe(subscriber);
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.util.Map;
+import java.util.function.Function;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import org.reactivestreams.Publisher;
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.util.context.Context;
+import retrofit2.Call;
+import retrofit2.Converter;
+
+/**
+ * Sends the call with headers taken from the subscriber's {@link Context}. Subscribers whose
+ * context has none of the configured keys use {@code upstream} unchanged.
+ */
+final class ContextHeadersFlux<T, R> extends Flux<T> {
+  private final Publisher<? extends T> upstream;
+  private final Call<R> call;
+  /** Header names by the context key which holds their value. */
+  private final Map<Object, String> contextHeaders;
+  private final okhttp3.Call.Factory callFactory;
+  private final Converter<ResponseBody, R> converter;
+  private final Function<Call<R>, ? extends Publisher<? extends T>> adapter;
+
+  ContextHeadersFlux(Publisher<? extends T> upstream, Call<R> call,
+      Map<Object, String> contextHeaders, okhttp3.Call.Factory callFactory,
+      Converter<ResponseBody, R> converter,
+      Function<Call<R>, ? extends Publisher<? extends T>> adapter) {
+    this.upstream = upstream;
+    this.call = call;
+    this.contextHeaders = contextHeaders;
+    this.callFactory = callFactory;
+    this.converter = converter;
+    this.adapter = adapter;
+  }
+
+  @Override public void subscribe(CoreSubscriber<? super T> subscriber) {
+    Context context = subscriber.currentContext();
+    Request.Builder builder = null;
+    try {
+      for (Map.Entry<Object, String> entry : contextHeaders.entrySet()) {
+        Object value = context.getOrDefault(entry.getKey(), null);
+        if (value != null) {
+          if (builder == null) {
+            builder = call.request().newBuilder();
+          }
+          builder.header(entry.getValue(), value.toString());
+        }
+      }
+    } catch (Throwable t) {
+      Exceptions.throwIfFatal(t);
+      Operators.error(subscriber, t);
+      return;
+    }
+    if (builder == null) {
+      // Nothing to propagate. Skip rebuilding the request.
+      upstream.subscribe(subscriber);
+      return;
+    }
+    Call<R> headersCall = new RequestCall<>(builder.build(), callFactory, converter);
+    adapter.apply(headersCall).subscribe(subscriber);
+  }
+}
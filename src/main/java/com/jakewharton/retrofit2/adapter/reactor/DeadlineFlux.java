@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.context.Context;
+import retrofit2.Response;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Fails with {@link DeadlineExceededException} and cancels the upstream call when the earlier of
+ * the subscriber's {@link ReactorCallAdapterFactory#DEADLINE_KEY deadline} or the method's
+ * {@link Timeout} elapses.
+ */
+final class DeadlineFlux<T> extends Flux<Response<T>> {
+  private final Publisher<Response<T>> upstream;
+  private final Scheduler scheduler;
+  /** The method's timeout in milliseconds, or -1 for none. */
+  private final long timeoutMillis;
+  /** Whether the subscriber's context may carry a deadline. */
+  private final boolean contextDeadlines;
+
+  DeadlineFlux(Publisher<Response<T>> upstream, Scheduler scheduler, long timeoutMillis,
+      boolean contextDeadlines) {
+    this.upstream = upstream;
+    this.scheduler = scheduler;
+    this.timeoutMillis = timeoutMillis;
+    this.contextDeadlines = contextDeadlines;
+  }
+
+  @Override public void subscribe(CoreSubscriber<? super Response<T>> subscriber) {
+    long remaining = timeoutMillis != -1 ? timeoutMillis : Long.MAX_VALUE;
+    if (contextDeadlines) {
+      Instant deadline = subscriber.currentContext()
+          .getOrDefault(ReactorCallAdapterFactory.DEADLINE_KEY, null);
+      if (deadline != null) {
+        long untilDeadline = deadline.toEpochMilli() - scheduler.now(MILLISECONDS);
+        remaining = Math.min(remaining, untilDeadline);
+      }
+    }
+    if (remaining == Long.MAX_VALUE) {
+      upstream.subscribe(subscriber);
+      return;
+    }
+    if (remaining <= 0) {
+      // Nobody will be waiting for the response. Fail without creating the call.
+      Operators.error(subscriber, new DeadlineExceededException());
+      return;
+    }
+    DeadlineSubscriber<T> deadlineSubscriber = new DeadlineSubscriber<>(subscriber);
+    subscriber.onSubscribe(deadlineSubscriber);
+    // Schedule before subscribing since a synchronous call executes inside subscribe.
+    deadlineSubscriber.timer = scheduler.schedule(deadlineSubscriber, remaining, MILLISECONDS);
+    upstream.subscribe(deadlineSubscriber);
+  }
+
+  private static final class DeadlineSubscriber<R> extends Operators.DeferredSubscription
+      implements CoreSubscriber<Response<R>>, Runnable {
+    private static final int ACTIVE = 0;
+    private static final int RECEIVED = 1;
+    private static final int EXPIRED = 2;
+
+    private final CoreSubscriber<? super Response<R>> subscriber;
+    volatile Disposable timer;
+    private volatile int state;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<DeadlineSubscriber> STATE =
+        AtomicIntegerFieldUpdater.newUpdater(DeadlineSubscriber.class, "state");
+
+    DeadlineSubscriber(CoreSubscriber<? super Response<R>> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override public Context currentContext() {
+      return subscriber.currentContext();
+    }
+
+    @Override public void onSubscribe(Subscription subscription) {
+      set(subscription);
+    }
+
+    @Override public void onNext(Response<R> response) {
+      if (STATE.compareAndSet(this, ACTIVE, RECEIVED)) {
+        disposeTimer();
+        subscriber.onNext(response);
+      }
+    }
+
+    @Override public void onError(Throwable throwable) {
+      if (STATE.compareAndSet(this, ACTIVE, RECEIVED)) {
+        disposeTimer();
+        subscriber.onError(throwable);
+      }
+      // Otherwise the call failed because it was canceled at the deadline. Nothing is listening.
+    }
+
+    @Override public void onComplete() {
+      if (state == RECEIVED) {
+        subscriber.onComplete();
+      } else if (STATE.compareAndSet(this, ACTIVE, RECEIVED)) {
+        disposeTimer();
+        subscriber.onComplete();
+      }
+    }
+
+    @Override public void run() {
+      if (STATE.compareAndSet(this, ACTIVE, EXPIRED)) {
+        // Canceling the upstream cancels the cloned call, releasing its socket and thread.
+        super.cancel();
+        subscriber.onError(new DeadlineExceededException());
+      }
+    }
+
+    @Override public void cancel() {
+      disposeTimer();
+      super.cancel();
+    }
+
+    private void disposeTimer() {
+      Disposable timer = this.timer;
+      if (timer != null) {
+        timer.dispose();
+      }
+    }
+  }
+}
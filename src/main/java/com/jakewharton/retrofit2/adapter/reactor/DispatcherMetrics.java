@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Measures where the calls of each service method spend their time before a response arrives,
+ * and how many calls are in each phase. This is most useful with
+ * {@link ReactorCallAdapterFactory#createAsync()} where calls can wait for a thread in OkHttp's
+ * {@link okhttp3.Dispatcher} without any visible sign.
+ * <p>
+ * Install an instance with
+ * {@link ReactorCallAdapterFactory.Builder#eventListenerFactory(CallEventListener.Factory)} and add
+ * its {@link #interceptor()} as the first application interceptor of the
+ * {@link okhttp3.OkHttpClient}.
+ * Without the interceptor the time a call starts on the network is unknown, so only
+ * {@link MethodTimings#beforeEnqueue()} is recorded and calls stay counted as queued until their
+ * response arrives.
+ */
+public final class DispatcherMetrics implements CallEventListener.Factory {
+  private final Map<Method, MethodTimings> timings = new ConcurrentHashMap<>();
+  /** Calls which have been enqueued but not yet seen by the interceptor, by request identity. */
+  private final Map<Request, Recorder> enqueued = new ConcurrentHashMap<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicInteger running = new AtomicInteger();
+
+  private final Interceptor interceptor = chain -> {
+    Recorder recorder = enqueued.remove(chain.request());
+    if (recorder != null) {
+      recorder.networkStart(System.nanoTime());
+    }
+    return chain.proceed(chain.request());
+  };
+
+  /**
+   * An application interceptor which records when each call leaves the dispatcher's queue. It must
+   * precede any interceptor which replaces the request.
+   */
+  public Interceptor interceptor() {
+    return interceptor;
+  }
+
+  /** Returns the timings of calls to {@code method}, or null if none have been subscribed. */
+  public MethodTimings timings(Method method) {
+    if (method == null) throw new NullPointerException("method == null");
+    return timings.get(method);
+  }
+
+  /** Returns the timings of every service method which has had calls subscribed. */
+  public Map<Method, MethodTimings> timings() {
+    return Collections.unmodifiableMap(timings);
+  }
+
+  /** The number of subscribed calls which have not yet completed, failed, or been canceled. */
+  public int inFlightCallsCount() {
+    return inFlight.get();
+  }
+
+  /** The number of calls which have been enqueued but are waiting for a dispatcher thread. */
+  public int queuedCallsCount() {
+    return queued.get();
+  }
+
+  /** The number of calls which have started on the network but not yet received a response. */
+  public int runningCallsCount() {
+    return running.get();
+  }
+
+  @Override public CallEventListener create(Method method) {
+    MethodTimings timings = null;
+    if (method != null) {
+      timings = this.timings.get(method);
+      if (timings == null) {
+        timings = this.timings.computeIfAbsent(method, ignored -> new MethodTimings());
+      }
+    }
+    return new Recorder(timings);
+  }
+
+  public static final class MethodTimings {
+    final LatencyHistogram beforeEnqueue = new LatencyHistogram();
+    final LatencyHistogram dispatcherQueue = new LatencyHistogram();
+    final LatencyHistogram network = new LatencyHistogram();
+
+    MethodTimings() {
+    }
+
+    /**
+     * From subscription until the call is enqueued or executed. This is time spent waiting for a
+     * rate limiter permit, in a call queue, or for a scheduler.
+     */
+    public LatencyHistogram beforeEnqueue() {
+      return beforeEnqueue;
+    }
+
+    /** From enqueue until a dispatcher thread starts the call. */
+    public LatencyHistogram dispatcherQueue() {
+      return dispatcherQueue;
+    }
+
+    /** From the start of the call on a dispatcher thread until its response arrives. */
+    public LatencyHistogram network() {
+      return network;
+    }
+  }
+
+  /** Tracks the phase of a single subscription. */
+  private final class Recorder extends CallEventListener {
+    private static final int NEW = 0;
+    private static final int QUEUED = 1;
+    private static final int RUNNING = 2;
+    private static final int DONE = 3;
+
+    /** Null if the service method is unknown. */
+    private final MethodTimings timings;
+    private final AtomicInteger state = new AtomicInteger(NEW);
+    private long subscribedAt;
+    private volatile long enqueuedAt;
+    private volatile long startedAt;
+    private volatile Request request;
+
+    Recorder(MethodTimings timings) {
+      this.timings = timings;
+    }
+
+    @Override public void callSubscribed(Method method, long nanoTime) {
+      subscribedAt = nanoTime;
+      inFlight.incrementAndGet();
+    }
+
+    @Override public void callStart(Method method, Call<?> call, long nanoTime) {
+      enqueuedAt = nanoTime;
+      if (timings != null) {
+        timings.beforeEnqueue.record(nanoTime - subscribedAt);
+      }
+      if (state.compareAndSet(NEW, QUEUED)) {
+        queued.incrementAndGet();
+        try {
+          request = call.request();
+        } catch (RuntimeException e) {
+          return; // The call will fail without reaching the interceptor.
+        }
+        enqueued.put(request, this);
+        if (state.get() == DONE) {
+          enqueued.remove(request); // Canceled concurrently.
+        }
+      }
+    }
+
+    void networkStart(long nanoTime) {
+      if (state.compareAndSet(QUEUED, RUNNING)) {
+        startedAt = nanoTime;
+        queued.decrementAndGet();
+        running.incrementAndGet();
+        if (timings != null) {
+          timings.dispatcherQueue.record(nanoTime - enqueuedAt);
+        }
+      }
+    }
+
+    @Override public void responseReceived(Method method, Response<?> response, long nanoTime) {
+      if (state.get() == RUNNING && timings != null) {
+        timings.network.record(nanoTime - startedAt);
+      }
+      finish();
+    }
+
+    @Override public void callEnd(Method method, long nanoTime) {
+      finish();
+      inFlight.decrementAndGet();
+    }
+
+    @Override public void callFailed(Method method, Throwable throwable, long nanoTime) {
+      finish();
+      inFlight.decrementAndGet();
+    }
+
+    @Override public void callCanceled(Method method, long nanoTime) {
+      finish();
+      inFlight.decrementAndGet();
+    }
+
+    private void finish() {
+      int previous = state.getAndSet(DONE);
+      if (previous == QUEUED) {
+        queued.decrementAndGet();
+        if (request != null) {
+          enqueued.remove(request);
+        }
+      } else if (previous == RUNNING) {
+        running.decrementAndGet();
+      }
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.util.context.Context;
+import retrofit2.Call;
+import retrofit2.Invocation;
+import retrofit2.Response;
+
+/**
+ * Creates a {@link CallEventListener} for each subscriber and makes it available to the operators
+ * upstream through the subscriber's {@link Context}. Nothing is looked up or allocated for these
+ * events when no listener is installed.
+ */
+final class EventListenerFlux<T> extends Flux<T> {
+  /**
+   * Returns the events of the subscription whose context is {@code context}, or null if no
+   * listener is installed.
+   */
+  static EventListenerSubscriber<?> events(Context context) {
+    return context.getOrDefault(EventListenerSubscriber.class, null);
+  }
+
+  private final Publisher<T> upstream;
+  private final Call<?> call;
+  private final CallEventListener.Factory factory;
+
+  EventListenerFlux(Publisher<T> upstream, Call<?> call, CallEventListener.Factory factory) {
+    this.upstream = upstream;
+    this.call = call;
+    this.factory = factory;
+  }
+
+  @Override public void subscribe(CoreSubscriber<? super T> subscriber) {
+    Method method = method(call);
+    CallEventListener listener = factory.create(method);
+    listener.callSubscribed(method, System.nanoTime());
+    upstream.subscribe(new EventListenerSubscriber<>(subscriber, listener, method));
+  }
+
+  private static Method method(Call<?> call) {
+    Invocation invocation;
+    try {
+      // The original call caches its request so this is only built once.
+      invocation = call.request().tag(Invocation.class);
+    } catch (RuntimeException e) {
+      return null; // The call will fail with the same exception when it is executed.
+    }
+    return invocation != null ? invocation.method() : null;
+  }
+
+  static final class EventListenerSubscriber<R> implements CoreSubscriber<R>, Subscription {
+    private final CoreSubscriber<? super R> subscriber;
+    private final CallEventListener listener;
+    private final Method method;
+    private final Context context;
+    private Subscription subscription;
+    /** Non-zero once a terminal event has been sent to {@link #listener}. */
+    private volatile int done;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<EventListenerSubscriber> DONE =
+        AtomicIntegerFieldUpdater.newUpdater(EventListenerSubscriber.class, "done");
+
+    EventListenerSubscriber(CoreSubscriber<? super R> subscriber, CallEventListener listener,
+        Method method) {
+      this.subscriber = subscriber;
+      this.listener = listener;
+      this.method = method;
+      this.context = subscriber.currentContext().put(EventListenerSubscriber.class, this);
+    }
+
+    void callCloned(Call<?> call) {
+      listener.callCloned(method, call, System.nanoTime());
+    }
+
+    void callStart(Call<?> call) {
+      listener.callStart(method, call, System.nanoTime());
+    }
+
+    void responseReceived(Response<?> response) {
+      listener.responseReceived(method, response, System.nanoTime());
+    }
+
+    void bodyEmitted() {
+      listener.bodyEmitted(method, System.nanoTime());
+    }
+
+    void resultEmitted(Result<?> result) {
+      listener.resultEmitted(method, result, System.nanoTime());
+    }
+
+    @Override public Context currentContext() {
+      return context;
+    }
+
+    @Override public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+      subscriber.onSubscribe(this);
+    }
+
+    @Override public void onNext(R value) {
+      subscriber.onNext(value);
+    }
+
+    @Override public void onError(Throwable throwable) {
+      subscriber.onError(throwable);
+      if (DONE.compareAndSet(this, 0, 1)) {
+        listener.callFailed(method, throwable, System.nanoTime());
+      }
+    }
+
+    @Override public void onComplete() {
+      // A Mono receives its value on completion. Report after it has been processed downstream.
+      subscriber.onComplete();
+      if (DONE.compareAndSet(this, 0, 1)) {
+        listener.callEnd(method, System.nanoTime());
+      }
+    }
+
+    @Override public void request(long n) {
+      subscription.request(n);
+    }
+
+    @Override public void cancel() {
+      if (DONE.compareAndSet(this, 0, 1)) {
+        listener.callCanceled(method, System.nanoTime());
+      }
+      subscription.cancel();
+    }
+  }
+}
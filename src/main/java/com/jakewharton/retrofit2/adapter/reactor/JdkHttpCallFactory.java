@@ -0,0 +1,575 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.net.Authenticator;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.net.ssl.SSLContext;
+import okhttp3.Callback;
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.Okio;
+import okio.Timeout;
+import org.reactivestreams.Publisher;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+/**
+ * A {@link ReactiveCallFactory} which sends requests with the JDK's
+ * {@code java.net.http.HttpClient} (Java 11 or newer). Its asynchronous API multiplexes calls
+ * over HTTP/2 connections and needs no thread per in-flight call. Canceling a subscription
+ * cancels the client's future.
+ * <p>
+ * Response bodies are streamed from the client. Request bodies are held in memory while they are
+ * sent. Headers which the JDK client manages itself, such as {@code Connection} and
+ * {@code Content-Length}, are not sent.
+ */
+public final class JdkHttpCallFactory implements ReactiveCallFactory {
+  /** Headers which {@code HttpRequest.Builder} rejects. */
+  private static final Set<String> RESTRICTED_HEADERS = new HashSet<>(Arrays.asList(
+      "connection", "content-length", "date", "expect", "from", "host", "upgrade", "via",
+      "warning"));
+
+  /**
+   * Returns an instance which uses a new {@code HttpClient} with default settings.
+   *
+   * @throws UnsupportedOperationException if the runtime does not include
+   * {@code java.net.http.HttpClient} (Java 11 or newer).
+   */
+  public static JdkHttpCallFactory create() {
+    return new Builder().build();
+  }
+
+  private final HttpApi api;
+  private final Object httpClient;
+
+  private JdkHttpCallFactory(HttpApi api, Object httpClient) {
+    this.api = api;
+    this.httpClient = httpClient;
+  }
+
+  @Override public Publisher<Response> execute(Request request) {
+    return Mono.create(sink -> {
+      CompletableFuture<?> future;
+      try {
+        future = sendAsync(request);
+      } catch (Throwable t) {
+        Exceptions.throwIfFatal(t);
+        sink.error(t);
+        return;
+      }
+      AtomicBoolean canceled = new AtomicBoolean();
+      sink.onCancel(() -> {
+        canceled.set(true);
+        future.cancel(true);
+      });
+      future.whenComplete((jdkResponse, error) -> {
+        if (error != null) {
+          sink.error(unwrap(error));
+          return;
+        }
+        Response response;
+        try {
+          response = toResponse(request, jdkResponse);
+        } catch (Throwable t) {
+          Exceptions.throwIfFatal(t);
+          sink.error(t);
+          return;
+        }
+        if (canceled.get()) {
+          response.close(); // Nobody will read the body, so release its connection.
+          return;
+        }
+        sink.success(response);
+      });
+    });
+  }
+
+  @Override public okhttp3.Call newCall(Request request) {
+    return new JdkHttpCall(request);
+  }
+
+  private CompletableFuture<?> sendAsync(Request request) throws IOException {
+    Headers headers = request.headers();
+    List<String> namesAndValues = new ArrayList<>(headers.size() * 2 + 2);
+    for (int i = 0, size = headers.size(); i < size; i++) {
+      String name = headers.name(i);
+      if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+        namesAndValues.add(name);
+        namesAndValues.add(headers.value(i));
+      }
+    }
+
+    RequestBody body = request.body();
+    Object bodyPublisher;
+    if (body == null) {
+      bodyPublisher = api.noBody;
+    } else {
+      MediaType contentType = body.contentType();
+      if (contentType != null && request.header("Content-Type") == null) {
+        namesAndValues.add("Content-Type");
+        namesAndValues.add(contentType.toString());
+      }
+      Buffer buffer = new Buffer();
+      body.writeTo(buffer);
+      bodyPublisher = api.ofByteArray(buffer.readByteArray());
+    }
+
+    Object jdkRequest = api.newRequest(request.url().uri(),
+        namesAndValues.toArray(new String[0]), request.method(), bodyPublisher);
+    return api.sendAsync(httpClient, jdkRequest);
+  }
+
+  private Response toResponse(Request request, Object jdkResponse) {
+    InputStream stream = api.body(jdkResponse);
+    try {
+      Headers.Builder headers = new Headers.Builder();
+      for (Map.Entry<String, List<String>> entry : api.headers(jdkResponse).entrySet()) {
+        String name = entry.getKey();
+        if (name.startsWith(":")) {
+          continue; // HTTP/2 pseudo-header.
+        }
+        for (String value : entry.getValue()) {
+          headers.add(name, value);
+        }
+      }
+      Headers responseHeaders = headers.build();
+
+      String contentType = responseHeaders.get("Content-Type");
+      ResponseBody body = ResponseBody.create(
+          contentType != null ? MediaType.parse(contentType) : null,
+          contentLength(responseHeaders), Okio.buffer(Okio.source(stream)));
+      return new Response.Builder()
+          .request(request)
+          .protocol(
+              "HTTP_2".equals(api.version(jdkResponse)) ? Protocol.HTTP_2 : Protocol.HTTP_1_1)
+          .code(api.statusCode(jdkResponse))
+          .message("") // Not exposed by the JDK client.
+          .headers(responseHeaders)
+          .body(body)
+          .build();
+    } catch (RuntimeException | Error e) {
+      try {
+        stream.close();
+      } catch (IOException ignored) {
+      }
+      throw e;
+    }
+  }
+
+  private static long contentLength(Headers headers) {
+    String value = headers.get("Content-Length");
+    if (value == null) return -1;
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    if (error instanceof CompletionException && error.getCause() != null) {
+      return error.getCause();
+    }
+    return error;
+  }
+
+  /** A blocking or callback-based call for service methods which do not return a stream. */
+  private final class JdkHttpCall implements okhttp3.Call {
+    private final Request request;
+    private final AtomicBoolean executed = new AtomicBoolean();
+    private volatile CompletableFuture<?> future;
+    private volatile boolean canceled;
+
+    JdkHttpCall(Request request) {
+      this.request = request;
+    }
+
+    @Override public Request request() {
+      return request;
+    }
+
+    @Override public Response execute() throws IOException {
+      CompletableFuture<?> future = start();
+      Object jdkResponse;
+      try {
+        jdkResponse = future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      } catch (CancellationException e) {
+        throw new IOException("Canceled");
+      } catch (ExecutionException e) {
+        throw asIOException(e.getCause());
+      }
+      return toResponse(request, jdkResponse);
+    }
+
+    @Override public void enqueue(Callback callback) {
+      CompletableFuture<?> future;
+      try {
+        future = start();
+      } catch (IOException e) {
+        callback.onFailure(this, e);
+        return;
+      }
+      future.whenComplete((jdkResponse, error) -> {
+        if (error != null) {
+          callback.onFailure(this, canceled
+              ? new IOException("Canceled")
+              : asIOException(unwrap(error)));
+          return;
+        }
+        Response response;
+        try {
+          response = toResponse(request, jdkResponse);
+        } catch (RuntimeException e) {
+          callback.onFailure(this, new IOException(e));
+          return;
+        }
+        try {
+          callback.onResponse(this, response);
+        } catch (IOException e) {
+          callback.onFailure(this, e);
+        }
+      });
+    }
+
+    private CompletableFuture<?> start() throws IOException {
+      if (!executed.compareAndSet(false, true)) throw new IllegalStateException("Already Executed");
+      if (canceled) throw new IOException("Canceled");
+      CompletableFuture<?> future = sendAsync(request);
+      this.future = future;
+      if (canceled) {
+        future.cancel(true); // Raced with cancel().
+      }
+      return future;
+    }
+
+    @Override public void cancel() {
+      canceled = true;
+      CompletableFuture<?> future = this.future;
+      if (future != null) {
+        future.cancel(true);
+      }
+    }
+
+    @Override public boolean isExecuted() {
+      return executed.get();
+    }
+
+    @Override public boolean isCanceled() {
+      return canceled;
+    }
+
+    @Override public Timeout timeout() {
+      return Timeout.NONE;
+    }
+
+    @Override public okhttp3.Call clone() {
+      return new JdkHttpCall(request);
+    }
+  }
+
+  private static IOException asIOException(Throwable t) {
+    return t instanceof IOException ? (IOException) t : new IOException(t);
+  }
+
+  /** Configures the {@code java.net.http.HttpClient} of a {@link JdkHttpCallFactory}. */
+  public static final class Builder {
+    Duration connectTimeout;
+    Executor executor;
+    boolean followRedirects;
+    ProxySelector proxy;
+    Authenticator authenticator;
+    SSLContext sslContext;
+
+    /** Fail connections which take longer than {@code timeout}. Defaults to no timeout. */
+    public Builder connectTimeout(Duration timeout) {
+      if (timeout == null) throw new NullPointerException("timeout == null");
+      if (timeout.isNegative() || timeout.isZero()) {
+        throw new IllegalArgumentException("timeout <= 0: " + timeout);
+      }
+      this.connectTimeout = timeout;
+      return this;
+    }
+
+    /**
+     * The executor which runs the client's asynchronous tasks and completes its futures. Defaults
+     * to a cached thread pool owned by the client.
+     */
+    public Builder executor(Executor executor) {
+      if (executor == null) throw new NullPointerException("executor == null");
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Follow redirects, except from HTTPS to HTTP URLs. Defaults to false, which returns redirect
+     * responses to the caller as {@code java.net.http.HttpClient} does.
+     */
+    public Builder followRedirects(boolean followRedirects) {
+      this.followRedirects = followRedirects;
+      return this;
+    }
+
+    /** Selects the proxy for each connection. Defaults to connecting directly. */
+    public Builder proxy(ProxySelector proxy) {
+      if (proxy == null) throw new NullPointerException("proxy == null");
+      this.proxy = proxy;
+      return this;
+    }
+
+    /** Answers authentication challenges from servers and proxies. */
+    public Builder authenticator(Authenticator authenticator) {
+      if (authenticator == null) throw new NullPointerException("authenticator == null");
+      this.authenticator = authenticator;
+      return this;
+    }
+
+    /** Secures HTTPS connections. Defaults to {@link SSLContext#getDefault()}. */
+    public Builder sslContext(SSLContext sslContext) {
+      if (sslContext == null) throw new NullPointerException("sslContext == null");
+      this.sslContext = sslContext;
+      return this;
+    }
+
+    /**
+     * @throws UnsupportedOperationException if the runtime does not include
+     * {@code java.net.http.HttpClient} (Java 11 or newer).
+     */
+    public JdkHttpCallFactory build() {
+      HttpApi api = HttpApi.get();
+      return new JdkHttpCallFactory(api, api.newHttpClient(this));
+    }
+  }
+
+  /**
+   * The parts of {@code java.net.http} this factory uses, looked up reflectively so that this
+   * library continues to run on Java 8. Methods used by every call are held as method handles
+   * adapted to erased types so that invoking them neither boxes arguments into arrays nor checks
+   * access.
+   */
+  private static final class HttpApi {
+    private static volatile HttpApi instance;
+
+    static HttpApi get() {
+      HttpApi api = instance;
+      if (api == null) {
+        try {
+          instance = api = new HttpApi();
+        } catch (ClassNotFoundException e) {
+          throw new UnsupportedOperationException(
+              "java.net.http.HttpClient requires Java 11 or newer", e);
+        } catch (ReflectiveOperationException e) {
+          throw new UnsupportedOperationException("java.net.http.HttpClient is not available", e);
+        }
+      }
+      return api;
+    }
+
+    private final Class<?> clientBuilderClass;
+    private final Class<?> redirectClass;
+    private final Method newClientBuilder;
+    private final Method buildClient;
+    final Object noBody;
+    private final Object bodyHandler;
+    private final MethodHandle newRequestBuilder;
+    private final MethodHandle headers;
+    private final MethodHandle method;
+    private final MethodHandle build;
+    private final MethodHandle ofByteArray;
+    private final MethodHandle sendAsync;
+    private final MethodHandle statusCode;
+    private final MethodHandle headerMap;
+    private final MethodHandle body;
+    private final MethodHandle version;
+
+    private HttpApi() throws ReflectiveOperationException {
+      Class<?> client = Class.forName("java.net.http.HttpClient");
+      clientBuilderClass = Class.forName("java.net.http.HttpClient$Builder");
+      redirectClass = Class.forName("java.net.http.HttpClient$Redirect");
+      Class<?> request = Class.forName("java.net.http.HttpRequest");
+      Class<?> requestBuilder = Class.forName("java.net.http.HttpRequest$Builder");
+      Class<?> bodyPublisher = Class.forName("java.net.http.HttpRequest$BodyPublisher");
+      Class<?> bodyPublishers = Class.forName("java.net.http.HttpRequest$BodyPublishers");
+      Class<?> response = Class.forName("java.net.http.HttpResponse");
+      Class<?> bodyHandlerClass = Class.forName("java.net.http.HttpResponse$BodyHandler");
+      Class<?> bodyHandlers = Class.forName("java.net.http.HttpResponse$BodyHandlers");
+      Class<?> httpHeaders = Class.forName("java.net.http.HttpHeaders");
+
+      newClientBuilder = client.getMethod("newBuilder");
+      buildClient = clientBuilderClass.getMethod("build");
+      noBody = bodyPublishers.getMethod("noBody").invoke(null);
+      bodyHandler = bodyHandlers.getMethod("ofInputStream").invoke(null);
+
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      newRequestBuilder = erase(lookup.unreflect(request.getMethod("newBuilder", URI.class)));
+      headers = erase(lookup.unreflect(requestBuilder.getMethod("headers", String[].class)));
+      method = erase(lookup.unreflect(
+          requestBuilder.getMethod("method", String.class, bodyPublisher)));
+      build = erase(lookup.unreflect(requestBuilder.getMethod("build")));
+      ofByteArray = erase(lookup.unreflect(bodyPublishers.getMethod("ofByteArray", byte[].class)));
+      sendAsync = erase(lookup.unreflect(
+          client.getMethod("sendAsync", request, bodyHandlerClass)));
+      statusCode = lookup.unreflect(response.getMethod("statusCode"))
+          .asType(MethodType.methodType(int.class, Object.class));
+      headerMap = erase(MethodHandles.filterReturnValue(
+          lookup.unreflect(response.getMethod("headers")),
+          lookup.unreflect(httpHeaders.getMethod("map"))));
+      body = erase(lookup.unreflect(response.getMethod("body")));
+      version = erase(lookup.unreflect(response.getMethod("version")));
+    }
+
+    /** Adapts {@code handle} to take and return {@link Object} so it can be invoked exactly. */
+    private static MethodHandle erase(MethodHandle handle) {
+      return handle.asFixedArity().asType(handle.type().erase());
+    }
+
+    Object newHttpClient(Builder builder) {
+      try {
+        Object clientBuilder = newClientBuilder.invoke(null);
+        if (builder.connectTimeout != null) {
+          configure(clientBuilder, "connectTimeout", Duration.class, builder.connectTimeout);
+        }
+        if (builder.executor != null) {
+          configure(clientBuilder, "executor", Executor.class, builder.executor);
+        }
+        if (builder.followRedirects) {
+          @SuppressWarnings({"unchecked", "rawtypes"}) // HttpClient.Redirect is an enum.
+          Object normal = Enum.valueOf((Class) redirectClass, "NORMAL");
+          configure(clientBuilder, "followRedirects", redirectClass, normal);
+        }
+        if (builder.proxy != null) {
+          configure(clientBuilder, "proxy", ProxySelector.class, builder.proxy);
+        }
+        if (builder.authenticator != null) {
+          configure(clientBuilder, "authenticator", Authenticator.class, builder.authenticator);
+        }
+        if (builder.sslContext != null) {
+          configure(clientBuilder, "sslContext", SSLContext.class, builder.sslContext);
+        }
+        return buildClient.invoke(clientBuilder);
+      } catch (ReflectiveOperationException e) {
+        throw new UnsupportedOperationException("java.net.http.HttpClient is not available", e);
+      }
+    }
+
+    private void configure(Object clientBuilder, String name, Class<?> type, Object value)
+        throws ReflectiveOperationException {
+      clientBuilderClass.getMethod(name, type).invoke(clientBuilder, value);
+    }
+
+    Object ofByteArray(byte[] bytes) {
+      try {
+        return (Object) ofByteArray.invokeExact((Object) bytes);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    }
+
+    /** Returns an {@code HttpRequest}. {@code headers} alternates names and values. */
+    Object newRequest(URI uri, String[] headers, String method, Object bodyPublisher) {
+      try {
+        Object builder = (Object) newRequestBuilder.invokeExact((Object) uri);
+        if (headers.length != 0) {
+          builder = (Object) this.headers.invokeExact(builder, (Object) headers);
+        }
+        builder = (Object) this.method.invokeExact(builder, (Object) method, bodyPublisher);
+        return (Object) build.invokeExact(builder);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    }
+
+    CompletableFuture<?> sendAsync(Object httpClient, Object request) {
+      try {
+        return (CompletableFuture<?>) (Object) sendAsync.invokeExact(httpClient, request,
+            bodyHandler);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    }
+
+    int statusCode(Object response) {
+      try {
+        return (int) statusCode.invokeExact(response);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    }
+
+    @SuppressWarnings("unchecked") // HttpHeaders.map() is a Map<String, List<String>>.
+    Map<String, List<String>> headers(Object response) {
+      try {
+        return (Map<String, List<String>>) (Object) headerMap.invokeExact(response);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    }
+
+    InputStream body(Object response) {
+      try {
+        return (InputStream) (Object) body.invokeExact(response);
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    }
+
+    /** Returns the name of the response's {@code HttpClient.Version}. */
+    String version(Object response) {
+      try {
+        return ((Enum<?>) (Object) version.invokeExact(response)).name();
+      } catch (Throwable t) {
+        throw propagate(t);
+      }
+    }
+
+    /** Rethrows {@code t}, which the JDK client only throws unchecked. */
+    private static RuntimeException propagate(Throwable t) {
+      if (t instanceof RuntimeException) throw (RuntimeException) t;
+      if (t instanceof Error) throw (Error) t;
+      throw new IllegalStateException(t);
+    }
+  }
+}
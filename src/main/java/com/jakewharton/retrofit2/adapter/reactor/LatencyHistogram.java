@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations in nanoseconds. Each power of two is split into 32 linear
+ * buckets so recorded values are accurate to within about 3%. Recording takes constant time and
+ * does not allocate.
+ */
+public final class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong sum = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  LatencyHistogram() {
+  }
+
+  void record(long nanos) {
+    if (nanos < 0) nanos = 0;
+    buckets.incrementAndGet(index(nanos));
+    sum.addAndGet(nanos);
+    long current;
+    while (nanos > (current = max.get())) {
+      if (max.compareAndSet(current, nanos)) break;
+    }
+  }
+
+  static int index(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+    return ((shift + 1) << SUB_BUCKET_BITS) + subBucket;
+  }
+
+  /** The largest value which is recorded in the bucket at {@code index}. */
+  static long highestValue(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = (index >>> SUB_BUCKET_BITS) - 1;
+    long lowest = (long) (SUB_BUCKET_COUNT + (index & (SUB_BUCKET_COUNT - 1))) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+
+  /**
+   * Returns a copy of the values recorded so far. Values recorded while the copy is taken may be
+   * partially reflected.
+   */
+  public Snapshot snapshot() {
+    long[] counts = new long[BUCKET_COUNT];
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      long bucket = buckets.get(i);
+      counts[i] = bucket;
+      count += bucket;
+    }
+    return new Snapshot(counts, count, sum.get(), max.get());
+  }
+
+  public static final class Snapshot {
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    Snapshot(long[] counts, long count, long sum, long max) {
+      this.counts = counts;
+      this.count = count;
+      this.sum = sum;
+      this.max = max;
+    }
+
+    /** The number of recorded values. */
+    public long count() {
+      return count;
+    }
+
+    /** The sum of all recorded values in nanoseconds. */
+    public long totalNanos() {
+      return sum;
+    }
+
+    /** The largest recorded value in nanoseconds, or 0 if none were recorded. */
+    public long maxNanos() {
+      return max;
+    }
+
+    /** The mean of the recorded values in nanoseconds, or 0 if none were recorded. */
+    public double meanNanos() {
+      return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * The value in nanoseconds which {@code percentile} percent of recorded values are less than
+     * or equal to, or 0 if none were recorded.
+     */
+    public long percentileNanos(double percentile) {
+      if (percentile < 0 || percentile > 100) {
+        throw new IllegalArgumentException("percentile must be in [0, 100]: " + percentile);
+      }
+      if (count == 0) {
+        return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return Math.min(highestValue(i), max);
+        }
+      }
+      return max;
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import retrofit2.Response;
+
+/**
+ * Records the latencies of each service method into {@linkplain LatencyHistogram histograms}.
+ * Install an instance with
+ * {@link ReactorCallAdapterFactory.Builder#eventListenerFactory(CallEventListener.Factory)}.
+ * <pre><code>
+ * LatencyMetrics metrics = new LatencyMetrics();
+ * ReactorCallAdapterFactory factory = ReactorCallAdapterFactory.create()
+ *     .newBuilder()
+ *     .eventListenerFactory(metrics)
+ *     .build();
+ * // Later...
+ * long p99 = metrics.latencies(method).endToEnd().snapshot().percentileNanos(99);
+ * </code></pre>
+ */
+public final class LatencyMetrics implements CallEventListener.Factory {
+  private final Map<Method, MethodLatencies> latencies = new ConcurrentHashMap<>();
+
+  /** Returns the latencies of calls to {@code method}, or null if none have been subscribed. */
+  public MethodLatencies latencies(Method method) {
+    if (method == null) throw new NullPointerException("method == null");
+    return latencies.get(method);
+  }
+
+  /** Returns the latencies of every service method which has had calls subscribed. */
+  public Map<Method, MethodLatencies> latencies() {
+    return Collections.unmodifiableMap(latencies);
+  }
+
+  @Override public CallEventListener create(Method method) {
+    if (method == null) {
+      return CallEventListener.NONE;
+    }
+    MethodLatencies latencies = this.latencies.get(method);
+    if (latencies == null) {
+      latencies = this.latencies.computeIfAbsent(method, ignored -> new MethodLatencies());
+    }
+    return new Recorder(latencies);
+  }
+
+  public static final class MethodLatencies {
+    final LatencyHistogram endToEnd = new LatencyHistogram();
+    final LatencyHistogram timeToResponse = new LatencyHistogram();
+    final LatencyHistogram downstream = new LatencyHistogram();
+
+    MethodLatencies() {
+    }
+
+    /**
+     * From subscription until the stream completes or fails, including time spent waiting to
+     * start. Canceled calls are not recorded.
+     */
+    public LatencyHistogram endToEnd() {
+      return endToEnd;
+    }
+
+    /** From subscription until the HTTP response is received. */
+    public LatencyHistogram timeToResponse() {
+      return timeToResponse;
+    }
+
+    /**
+     * From the emission of the response, body, or {@link Result} until the subscriber has
+     * processed completion. This is the time held by downstream operators.
+     */
+    public LatencyHistogram downstream() {
+      return downstream;
+    }
+  }
+
+  /** Keeps the timestamps of a single subscription. */
+  private static final class Recorder extends CallEventListener {
+    private final MethodLatencies latencies;
+    private long subscribedAt;
+    private long emittedAt = -1;
+
+    Recorder(MethodLatencies latencies) {
+      this.latencies = latencies;
+    }
+
+    @Override public void callSubscribed(Method method, long nanoTime) {
+      subscribedAt = nanoTime;
+    }
+
+    @Override public void responseReceived(Method method, Response<?> response, long nanoTime) {
+      latencies.timeToResponse.record(nanoTime - subscribedAt);
+      emittedAt = nanoTime;
+    }
+
+    @Override public void bodyEmitted(Method method, long nanoTime) {
+      emittedAt = nanoTime;
+    }
+
+    @Override public void resultEmitted(Method method, Result<?> result, long nanoTime) {
+      emittedAt = nanoTime;
+    }
+
+    @Override public void callEnd(Method method, long nanoTime) {
+      latencies.endToEnd.record(nanoTime - subscribedAt);
+      if (emittedAt != -1) {
+        latencies.downstream.record(nanoTime - emittedAt);
+      }
+    }
+
+    @Override public void callFailed(Method method, Throwable throwable, long nanoTime) {
+      latencies.endToEnd.record(nanoTime - subscribedAt);
+    }
+  }
+}
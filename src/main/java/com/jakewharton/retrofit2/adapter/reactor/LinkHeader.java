@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+/**
+ * Parses the {@code Link} header defined by
+ * <a href="https://tools.ietf.org/html/rfc8288#section-3">RFC 8288</a>. Targets are read from
+ * between angle brackets rather than by splitting on commas, since a URL may contain commas.
+ */
+final class LinkHeader {
+  /**
+   * Returns the target of the first link in {@code header} whose relation types include
+   * {@code next}, or null if there is none.
+   */
+  static String next(String header) {
+    int length = header.length();
+    int pos = 0;
+    while (true) {
+      int open = header.indexOf('<', pos);
+      if (open == -1) return null;
+      int close = header.indexOf('>', open + 1);
+      if (close == -1) return null;
+      String target = header.substring(open + 1, close);
+      pos = close + 1;
+
+      String rel = null;
+      while (pos < length) {
+        char c = header.charAt(pos);
+        if (c == ',') {
+          pos++;
+          break; // The next link.
+        }
+        if (c != ';') {
+          pos++; // Whitespace or a malformed character.
+          continue;
+        }
+        pos = skipWhitespace(header, pos + 1);
+        int nameEnd = skipToken(header, pos);
+        String name = header.substring(pos, nameEnd);
+        pos = skipWhitespace(header, nameEnd);
+        String value = null;
+        if (pos < length && header.charAt(pos) == '=') {
+          pos = skipWhitespace(header, pos + 1);
+          if (pos < length && header.charAt(pos) == '"') {
+            StringBuilder quoted = new StringBuilder();
+            for (pos++; pos < length && header.charAt(pos) != '"'; pos++) {
+              if (header.charAt(pos) == '\\' && pos + 1 < length) {
+                pos++; // A quoted pair.
+              }
+              quoted.append(header.charAt(pos));
+            }
+            pos++; // The closing quote.
+            value = quoted.toString();
+          } else {
+            int valueEnd = skipToken(header, pos);
+            value = header.substring(pos, valueEnd);
+            pos = valueEnd;
+          }
+        }
+        if (rel == null && value != null && name.equalsIgnoreCase("rel")) {
+          rel = value; // Occurrences after the first are ignored.
+        }
+      }
+
+      if (rel != null) {
+        for (String type : rel.trim().split("[ \t]+")) {
+          if (type.equalsIgnoreCase("next")) {
+            return target;
+          }
+        }
+      }
+    }
+  }
+
+  private static int skipWhitespace(String header, int pos) {
+    while (pos < header.length() && (header.charAt(pos) == ' ' || header.charAt(pos) == '\t')) {
+      pos++;
+    }
+    return pos;
+  }
+
+  private static int skipToken(String header, int pos) {
+    while (pos < header.length()) {
+      char c = header.charAt(pos);
+      if (c == ' ' || c == '\t' || c == ';' || c == ',' || c == '=' || c == '"') {
+        break;
+      }
+      pos++;
+    }
+    return pos;
+  }
+
+  private LinkHeader() {
+    throw new AssertionError();
+  }
+}
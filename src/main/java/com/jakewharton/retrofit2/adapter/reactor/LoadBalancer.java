@@ -0,0 +1,314 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import reactor.core.scheduler.Scheduler;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Spreads calls across replicas of a service by rewriting the scheme, host, and port of each
+ * request to one of several base URLs. Add its {@link #interceptor()} as an application
+ * interceptor of the {@link okhttp3.OkHttpClient} and give Retrofit any one of the base URLs.
+ * <p>
+ * Each replica's outstanding requests and response latency are tracked by the interceptor itself,
+ * so no proxy or service registry is needed. Replicas which fail
+ * {@linkplain Builder#ejectAfter(int) several times in a row} are ejected for
+ * {@linkplain Builder#ejectionDuration(Duration) a while}. If every replica is ejected, calls are
+ * spread across all of them rather than failing.
+ */
+public final class LoadBalancer {
+  /** How a replica is chosen for each call. */
+  public enum Strategy {
+    /** The replica with the fewest outstanding requests, preferring lower latency on a tie. */
+    LEAST_OUTSTANDING_REQUESTS,
+    /**
+     * The better of two random replicas, scoring each by its latency multiplied by its outstanding
+     * requests. This avoids every client piling onto the same replica at once.
+     */
+    POWER_OF_TWO_CHOICES
+  }
+
+  private final Replica[] replicas;
+  private final List<HttpUrl> baseUrls;
+  private final Strategy strategy;
+  private final int ejectAfter;
+  private final long ejectionNanos;
+  /** Measures time, or null to use {@link System#nanoTime()}. */
+  private final Scheduler scheduler;
+
+  private final Interceptor interceptor = this::intercept;
+
+  LoadBalancer(Builder builder) {
+    this.replicas = new Replica[builder.baseUrls.size()];
+    for (int i = 0; i < replicas.length; i++) {
+      replicas[i] = new Replica(builder.baseUrls.get(i));
+    }
+    this.baseUrls = Collections.unmodifiableList(new ArrayList<>(builder.baseUrls));
+    this.strategy = builder.strategy;
+    this.ejectAfter = builder.ejectAfter;
+    this.ejectionNanos = builder.ejectionDuration.toNanos();
+    this.scheduler = builder.scheduler;
+  }
+
+  /** An application interceptor which sends each request to the chosen replica. */
+  public Interceptor interceptor() {
+    return interceptor;
+  }
+
+  public List<HttpUrl> baseUrls() {
+    return baseUrls;
+  }
+
+  /** The number of requests sent to {@code baseUrl} which have not yet received a response. */
+  public int outstandingRequests(HttpUrl baseUrl) {
+    return replica(baseUrl).outstanding.get();
+  }
+
+  /** True if {@code baseUrl} is currently ejected for failing too many times in a row. */
+  public boolean isEjected(HttpUrl baseUrl) {
+    return !replica(baseUrl).isAvailable(now());
+  }
+
+  private Replica replica(HttpUrl baseUrl) {
+    if (baseUrl == null) throw new NullPointerException("baseUrl == null");
+    for (Replica replica : replicas) {
+      if (replica.baseUrl.equals(baseUrl)) {
+        return replica;
+      }
+    }
+    throw new IllegalArgumentException("Unknown base URL: " + baseUrl);
+  }
+
+  private long now() {
+    return scheduler != null ? scheduler.now(NANOSECONDS) : System.nanoTime();
+  }
+
+  private Response intercept(Interceptor.Chain chain) throws IOException {
+    long start = now();
+    Replica replica = select(start);
+    Request request = chain.request();
+    HttpUrl url = request.url().newBuilder()
+        .scheme(replica.baseUrl.scheme())
+        .host(replica.baseUrl.host())
+        .port(replica.baseUrl.port())
+        .build();
+
+    replica.outstanding.incrementAndGet();
+    Response response;
+    try {
+      response = chain.proceed(request.newBuilder().url(url).build());
+    } catch (IOException | RuntimeException e) {
+      replica.outstanding.decrementAndGet();
+      if (!chain.call().isCanceled()) {
+        onFailure(replica);
+      }
+      throw e;
+    }
+    long now = now();
+    replica.outstanding.decrementAndGet();
+    replica.recordLatency(now - start);
+    if (response.code() >= 500) {
+      onFailure(replica);
+    } else {
+      replica.consecutiveFailures.set(0);
+    }
+    return response;
+  }
+
+  private void onFailure(Replica replica) {
+    if (replica.consecutiveFailures.incrementAndGet() >= ejectAfter) {
+      replica.consecutiveFailures.set(0);
+      replica.ejectedUntilNanos = now() + ejectionNanos;
+    }
+  }
+
+  private Replica select(long now) {
+    int available = 0;
+    for (Replica replica : replicas) {
+      if (replica.isAvailable(now)) {
+        available++;
+      }
+    }
+    // Sending to ejected replicas beats failing every call when they are all ejected.
+    boolean ignoreEjection = available == 0;
+    if (ignoreEjection) {
+      available = replicas.length;
+    }
+    if (available == 1) {
+      return nthAvailable(0, now, ignoreEjection);
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    if (strategy == Strategy.POWER_OF_TWO_CHOICES) {
+      int first = random.nextInt(available);
+      int second = random.nextInt(available - 1);
+      if (second >= first) {
+        second++;
+      }
+      Replica a = nthAvailable(first, now, ignoreEjection);
+      Replica b = nthAvailable(second, now, ignoreEjection);
+      return a.score() <= b.score() ? a : b;
+    }
+
+    // Start at a random replica so that ties do not all go to the first one.
+    int offset = random.nextInt(replicas.length);
+    Replica best = null;
+    for (int i = 0; i < replicas.length; i++) {
+      Replica replica = replicas[(offset + i) % replicas.length];
+      if (!ignoreEjection && !replica.isAvailable(now)) {
+        continue;
+      }
+      if (best == null) {
+        best = replica;
+        continue;
+      }
+      int outstanding = replica.outstanding.get();
+      int bestOutstanding = best.outstanding.get();
+      if (outstanding < bestOutstanding
+          || outstanding == bestOutstanding && replica.latencyNanos < best.latencyNanos) {
+        best = replica;
+      }
+    }
+    return best;
+  }
+
+  private Replica nthAvailable(int n, long now, boolean ignoreEjection) {
+    Replica last = null;
+    for (Replica replica : replicas) {
+      if (ignoreEjection || replica.isAvailable(now)) {
+        last = replica;
+        if (n-- == 0) {
+          break;
+        }
+      }
+    }
+    // A replica ejected by another thread since counting can leave none.
+    return last != null ? last : replicas[0];
+  }
+
+  private static final class Replica {
+    final HttpUrl baseUrl;
+    final AtomicInteger outstanding = new AtomicInteger();
+    final AtomicInteger consecutiveFailures = new AtomicInteger();
+    /** An exponentially weighted moving average. Updates may race and lose a sample. */
+    volatile long latencyNanos;
+    volatile long ejectedUntilNanos = Long.MIN_VALUE;
+
+    Replica(HttpUrl baseUrl) {
+      this.baseUrl = baseUrl;
+    }
+
+    boolean isAvailable(long now) {
+      return now >= ejectedUntilNanos;
+    }
+
+    void recordLatency(long sampleNanos) {
+      long latencyNanos = this.latencyNanos;
+      this.latencyNanos = latencyNanos == 0
+          ? sampleNanos
+          : latencyNanos + (sampleNanos - latencyNanos) / 4;
+    }
+
+    /** Lower is better. Replicas without a latency sample yet are tried eagerly. */
+    double score() {
+      return (double) Math.max(latencyNanos, 1) * (outstanding.get() + 1);
+    }
+  }
+
+  /** Configures a {@link LoadBalancer}. */
+  public static final class Builder {
+    final List<HttpUrl> baseUrls = new ArrayList<>();
+    Strategy strategy = Strategy.POWER_OF_TWO_CHOICES;
+    int ejectAfter = 5;
+    Duration ejectionDuration = Duration.ofSeconds(30);
+    Scheduler scheduler;
+
+    /**
+     * Send calls to the replica at {@code baseUrl}. Only its scheme, host, and port are used, so
+     * the path of each request is unchanged.
+     */
+    public Builder addBaseUrl(HttpUrl baseUrl) {
+      if (baseUrl == null) throw new NullPointerException("baseUrl == null");
+      if (baseUrls.contains(baseUrl)) {
+        throw new IllegalArgumentException("Duplicate base URL: " + baseUrl);
+      }
+      baseUrls.add(baseUrl);
+      return this;
+    }
+
+    /** @see #addBaseUrl(HttpUrl) */
+    public Builder addBaseUrl(String baseUrl) {
+      if (baseUrl == null) throw new NullPointerException("baseUrl == null");
+      return addBaseUrl(HttpUrl.get(baseUrl));
+    }
+
+    /** Defaults to {@link Strategy#POWER_OF_TWO_CHOICES}. */
+    public Builder strategy(Strategy strategy) {
+      if (strategy == null) throw new NullPointerException("strategy == null");
+      this.strategy = strategy;
+      return this;
+    }
+
+    /**
+     * Eject a replica after {@code consecutiveFailures} calls in a row fail with an exception or a
+     * 5XX response. Defaults to 5.
+     */
+    public Builder ejectAfter(int consecutiveFailures) {
+      if (consecutiveFailures < 1) {
+        throw new IllegalArgumentException("consecutiveFailures < 1: " + consecutiveFailures);
+      }
+      this.ejectAfter = consecutiveFailures;
+      return this;
+    }
+
+    /** How long an ejected replica receives no calls. Defaults to 30 seconds. */
+    public Builder ejectionDuration(Duration ejectionDuration) {
+      if (ejectionDuration == null) throw new NullPointerException("ejectionDuration == null");
+      if (ejectionDuration.isNegative()) {
+        throw new IllegalArgumentException("ejectionDuration < 0: " + ejectionDuration);
+      }
+      this.ejectionDuration = ejectionDuration;
+      return this;
+    }
+
+    /**
+     * The scheduler whose {@linkplain Scheduler#now clock} measures latency and ejection. Defaults
+     * to {@link System#nanoTime()}.
+     */
+    public Builder scheduler(Scheduler scheduler) {
+      if (scheduler == null) throw new NullPointerException("scheduler == null");
+      this.scheduler = scheduler;
+      return this;
+    }
+
+    public LoadBalancer build() {
+      if (baseUrls.isEmpty()) throw new IllegalStateException("No base URLs");
+      return new LoadBalancer(this);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Subscribes to {@code upstream} on the subscribing thread unless it is a
+ * {@linkplain Schedulers#isInNonBlockingThread() non-blocking thread}, in which case
+ * {@code offloaded} is subscribed to instead.
+ */
+final class OffloadFlux<T> extends Flux<T> {
+  private final Flux<T> upstream;
+  private final Flux<T> offloaded;
+
+  OffloadFlux(Flux<T> upstream, Flux<T> offloaded) {
+    this.upstream = upstream;
+    this.offloaded = offloaded;
+  }
+
+  @Override public void subscribe(CoreSubscriber<? super T> subscriber) {
+    if (Schedulers.isInNonBlockingThread()) {
+      offloaded.subscribe(subscriber);
+    } else {
+      upstream.subscribe(subscriber);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Emit the items of every page of a listing endpoint. The annotated method returns
+ * {@code Flux<Item>} and each page's body is converted as a {@code List<Item>}. The URL of the next
+ * page comes from the factory's {@linkplain ReactorCallAdapterFactory.Builder#paginator(Paginator)
+ * paginator} which follows {@code Link} headers by default.
+ * <pre><code>
+ * &#64;Paginated
+ * &#64;GET("repos")
+ * Flux&lt;Repo&gt; repos();
+ * </code></pre>
+ * The next page is requested as soon as the current page arrives so that it downloads while the
+ * current page is consumed. No more than one page is fetched ahead of the page being consumed.
+ * A non-2XX page fails the stream with {@link retrofit2.HttpException}.
+ */
+@Documented
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface Paginated {
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import org.reactivestreams.Publisher;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import retrofit2.Call;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+/**
+ * Emits the items of the first page and of every page which follows it. Each page after the first
+ * is requested once the page before it is emitted, which is no more than one page ahead of the
+ * page being consumed. Pages are sent by {@code pages}, which applies the same rate limiting,
+ * queueing, deadlines, and scheduling to each page as to the first.
+ */
+final class PaginatedFlux<T> extends Flux<T> {
+  private final Publisher<Response<List<T>>> firstPage;
+  private final Call<List<T>> call;
+  private final Function<Request, ? extends Publisher<Response<List<T>>>> pages;
+  private final Paginator paginator;
+
+  PaginatedFlux(Publisher<Response<List<T>>> firstPage, Call<List<T>> call,
+      Function<Request, ? extends Publisher<Response<List<T>>>> pages, Paginator paginator) {
+    this.firstPage = firstPage;
+    this.call = call;
+    this.pages = pages;
+    this.paginator = paginator;
+  }
+
+  @Override public void subscribe(CoreSubscriber<? super T> subscriber) {
+    Flux.from(firstPage)
+        .expand(this::nextPage)
+        // A prefetch of one page lets the next page download while this one is consumed.
+        .flatMapIterable(PaginatedFlux::items, 1)
+        .subscribe(subscriber);
+  }
+
+  private Publisher<Response<List<T>>> nextPage(Response<List<T>> page) {
+    if (!page.isSuccessful()) {
+      return Mono.empty();
+    }
+    HttpUrl url = paginator.nextPage(page);
+    if (url == null) {
+      return Mono.empty();
+    }
+    // Use the request before any interceptors changed it, like Retrofit would for a new call.
+    Request request = call.request().newBuilder().url(url).build();
+    return pages.apply(request);
+  }
+
+  private static <T> List<T> items(Response<List<T>> page) {
+    if (!page.isSuccessful()) {
+      throw new HttpException(page);
+    }
+    List<T> items = page.body();
+    return items != null ? items : Collections.emptyList();
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.util.List;
+import okhttp3.HttpUrl;
+import retrofit2.Response;
+
+/**
+ * Finds the URL of the page which follows a page of a {@link Paginated} method.
+ *
+ * @see ReactorCallAdapterFactory.Builder#paginator(Paginator)
+ */
+public interface Paginator {
+  /**
+   * Follows the {@code rel="next"} link of the page's
+   * <a href="https://tools.ietf.org/html/rfc8288">{@code Link} header</a>.
+   */
+  Paginator LINK_HEADER = page -> {
+    HttpUrl url = page.raw().request().url();
+    for (String header : page.headers().values("Link")) {
+      String target = LinkHeader.next(header);
+      if (target != null) {
+        return url.resolve(target);
+      }
+    }
+    return null;
+  };
+
+  /**
+   * Returns the URL of the page after {@code page}, or null if it is the last page. Only invoked
+   * for successful pages. A cursor in the page's last item can be read from {@code page.body()}.
+   * The next page is requested with the same method and headers as the first.
+   */
+  HttpUrl nextPage(Response<? extends List<?>> page);
+}
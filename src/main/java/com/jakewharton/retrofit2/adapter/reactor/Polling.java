@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Repeatedly call the annotated service method and emit its body each time it changes. The
+ * annotated method returns {@code Flux<Body>}.
+ * <pre><code>
+ * &#64;Polling(interval = 1, maxInterval = 30, unit = SECONDS)
+ * &#64;GET("feed")
+ * Flux&lt;Feed&gt; feed();
+ * </code></pre>
+ * Each poll sends the {@code ETag} and {@code Last-Modified} validators of the previous response
+ * as {@code If-None-Match} and {@code If-Modified-Since} so that an unchanged body is not
+ * downloaded again. A {@code 304 Not Modified} response, or a body equal to the last one emitted,
+ * emits nothing.
+ * <p>
+ * Polls are {@link #interval()} apart while the body keeps changing. Each poll which finds no
+ * change doubles the interval up to {@link #maxInterval()}. No poll is sent while the subscriber
+ * has no outstanding demand. The next poll is sent once demand arrives and the interval has
+ * elapsed.
+ * <p>
+ * Each poll is a call of its own which passes through the factory's scheduler, rate limiters,
+ * circuit breakers, call queue, and deadlines. {@link RateLimited} and {@link Timeout} also apply
+ * to each poll, while {@link SwitchLatest} may not be combined with polling. A failed poll, a
+ * rejection, or a non-2XX response other than 304 fails the stream, the latter with
+ * {@link retrofit2.HttpException}.
+ */
+@Documented
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface Polling {
+  /** The time between polls while the body keeps changing. */
+  long interval();
+
+  /** The longest time between polls. Defaults to eight times {@link #interval()}. */
+  long maxInterval() default -1;
+
+  TimeUnit unit() default TimeUnit.SECONDS;
+}
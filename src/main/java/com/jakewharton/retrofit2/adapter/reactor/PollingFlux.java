@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Function;
+import okhttp3.Request;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+import reactor.core.scheduler.Scheduler;
+import retrofit2.Call;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/** Polls a call while there is demand, emitting its body when it changes. See {@link Polling}. */
+final class PollingFlux<T> extends Flux<T> {
+  private final Call<T> call;
+  /** Returns a stream of the response to each poll's request. */
+  private final Function<Request, ? extends Publisher<Response<T>>> polls;
+  private final Scheduler scheduler;
+  private final long intervalNanos;
+  private final long maxIntervalNanos;
+
+  PollingFlux(Call<T> call, Function<Request, ? extends Publisher<Response<T>>> polls,
+      Scheduler scheduler, long intervalNanos, long maxIntervalNanos) {
+    this.call = call;
+    this.polls = polls;
+    this.scheduler = scheduler;
+    this.intervalNanos = intervalNanos;
+    this.maxIntervalNanos = maxIntervalNanos;
+  }
+
+  @Override public void subscribe(CoreSubscriber<? super T> subscriber) {
+    Request request;
+    try {
+      request = call.request();
+    } catch (RuntimeException e) {
+      Operators.error(subscriber, e);
+      return;
+    }
+    PollingSubscription<T> subscription = new PollingSubscription<>(subscriber, request, this);
+    subscriber.onSubscribe(subscription);
+  }
+
+  /**
+   * All state other than {@link #requested} is confined to {@link #worker}, which runs one task at
+   * a time.
+   */
+  private static final class PollingSubscription<T> implements Subscription {
+    private final CoreSubscriber<? super T> subscriber;
+    private final Request request;
+    private final PollingFlux<T> parent;
+    private final Scheduler.Worker worker;
+
+    private volatile long requested;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<PollingSubscription> REQUESTED =
+        AtomicLongFieldUpdater.newUpdater(PollingSubscription.class, "requested");
+    /** Non-zero once canceled or terminated, after which {@link #worker} may be disposed. */
+    private volatile int cancelled;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<PollingSubscription> CANCELLED =
+        AtomicIntegerFieldUpdater.newUpdater(PollingSubscription.class, "cancelled");
+
+    /** True once the interval since the last poll has elapsed. The first poll is due at once. */
+    private boolean due = true;
+    private Disposable inFlight;
+    private long intervalNanos;
+    private T last;
+    private String etag;
+    private String lastModified;
+
+    PollingSubscription(CoreSubscriber<? super T> subscriber, Request request,
+        PollingFlux<T> parent) {
+      this.subscriber = subscriber;
+      this.request = request;
+      this.parent = parent;
+      this.worker = parent.scheduler.createWorker();
+      this.intervalNanos = parent.intervalNanos;
+    }
+
+    @Override public void request(long n) {
+      if (Operators.validate(n) && cancelled == 0) {
+        Operators.addCap(REQUESTED, this, n);
+        try {
+          worker.schedule(this::pollIfReady);
+        } catch (RejectedExecutionException ignored) {
+          // Terminated concurrently and the worker was disposed.
+        }
+      }
+    }
+
+    @Override public void cancel() {
+      if (!CANCELLED.compareAndSet(this, 0, 1)) {
+        return; // Already canceled or terminated.
+      }
+      worker.schedule(() -> {
+        if (inFlight != null) {
+          inFlight.dispose();
+        }
+        worker.dispose();
+      });
+    }
+
+    private void pollIfReady() {
+      if (cancelled != 0 || !due || inFlight != null || requested == 0) {
+        return;
+      }
+      due = false;
+      Request.Builder builder = request.newBuilder();
+      if (etag != null) {
+        builder.header("If-None-Match", etag);
+      }
+      if (lastModified != null) {
+        builder.header("If-Modified-Since", lastModified);
+      }
+      Publisher<Response<T>> poll;
+      try {
+        poll = parent.polls.apply(builder.build());
+      } catch (Throwable t) {
+        Exceptions.throwIfFatal(t);
+        onError(t);
+        return;
+      }
+      // Polls see the subscriber's context so that context deadlines apply to each of them.
+      inFlight = Mono.from(poll)
+          .subscriberContext(subscriber.currentContext())
+          .subscribe(
+              response -> worker.schedule(() -> onResponse(response)),
+              error -> worker.schedule(() -> onError(error)));
+    }
+
+    private void onResponse(Response<T> response) {
+      inFlight = null;
+      if (cancelled != 0) {
+        return;
+      }
+
+      boolean changed = false;
+      if (response.code() != 304) {
+        if (!response.isSuccessful()) {
+          onError(new HttpException(response));
+          return;
+        }
+        String etag = response.headers().get("ETag");
+        String lastModified = response.headers().get("Last-Modified");
+        this.etag = etag;
+        this.lastModified = lastModified;
+
+        T body = response.body();
+        if (body != null && !body.equals(last)) {
+          changed = true;
+          last = body;
+          if (requested != Long.MAX_VALUE) {
+            REQUESTED.decrementAndGet(this);
+          }
+          subscriber.onNext(body);
+        }
+      }
+
+      // Poll eagerly while the body changes and back off while it does not.
+      intervalNanos = changed
+          ? parent.intervalNanos
+          : Math.min(intervalNanos * 2, parent.maxIntervalNanos);
+      worker.schedule(() -> {
+        due = true;
+        pollIfReady();
+      }, intervalNanos, NANOSECONDS);
+    }
+
+    private void onError(Throwable error) {
+      inFlight = null;
+      if (!CANCELLED.compareAndSet(this, 0, 1)) {
+        return;
+      }
+      worker.dispose();
+      subscriber.onError(error);
+    }
+  }
+}
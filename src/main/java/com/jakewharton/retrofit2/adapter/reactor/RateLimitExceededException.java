@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.io.IOException;
+
+/**
+ * Signaled when a {@linkplain RateLimiter#createFailFast fail-fast} {@link RateLimiter} has no
+ * permit available for a call. The call was not sent to the server.
+ */
+public final class RateLimitExceededException extends IOException {
+  private static final long serialVersionUID = 1L;
+
+  RateLimitExceededException() {
+    super("Rate limit exceeded");
+  }
+}
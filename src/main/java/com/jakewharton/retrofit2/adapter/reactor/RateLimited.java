@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Limit calls to the annotated service method with the {@link RateLimiter} registered under
+ * {@link #value() the name} using
+ * {@link ReactorCallAdapterFactory.Builder#rateLimiter(String, RateLimiter)}.
+ * <pre><code>
+ * &#64;RateLimited("search")
+ * &#64;GET("search")
+ * Mono&lt;Results&gt; search(@Query("q") String query);
+ * </code></pre>
+ */
+@Documented
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface RateLimited {
+  String value();
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A token bucket which limits how often calls are started.
+ * <p>
+ * Permits are refilled at a steady rate up to a maximum of {@code burst}. A call which subscribes
+ * while no permit is available is either queued until one is refilled or, for instances created
+ * with {@link #createFailFast}, immediately fails with {@link RateLimitExceededException}. Queued
+ * calls are granted permits in the order they subscribed and wait on a timer of the supplied
+ * {@link Scheduler} rather than blocking a thread. A synchronous call which waited for its permit
+ * executes on {@linkplain Schedulers#elastic() the elastic scheduler} rather than on the timer's
+ * thread, unless the factory already moves calls to a scheduler of its own.
+ * <p>
+ * Install an instance with {@link ReactorCallAdapterFactory.Builder#rateLimiter(RateLimiter)} for
+ * every service method, or {@link ReactorCallAdapterFactory.Builder#rateLimiter(String,
+ * RateLimiter)} for methods annotated with {@link RateLimited}. A single instance may be shared by
+ * multiple methods which need to draw from the same quota.
+ */
+public final class RateLimiter {
+  /**
+   * Returns an instance which queues calls until a permit is available, waiting on
+   * {@linkplain Schedulers#parallel() the parallel scheduler}. Permits accrue according to
+   * {@link System#nanoTime()}.
+   */
+  public static RateLimiter create(double permitsPerSecond, int burst) {
+    return new RateLimiter(permitsPerSecond, burst, Schedulers.parallel(), false, false);
+  }
+
+  /**
+   * Returns an instance which queues calls until a permit is available, waiting on
+   * {@code scheduler}. Permits accrue according to its {@linkplain Scheduler#now clock}.
+   */
+  public static RateLimiter create(double permitsPerSecond, int burst, Scheduler scheduler) {
+    if (scheduler == null) throw new NullPointerException("scheduler == null");
+    return new RateLimiter(permitsPerSecond, burst, scheduler, true, false);
+  }
+
+  /**
+   * Returns an instance which fails calls with {@link RateLimitExceededException} when no permit is
+   * available.
+   */
+  public static RateLimiter createFailFast(double permitsPerSecond, int burst) {
+    return new RateLimiter(permitsPerSecond, burst, Schedulers.parallel(), false, true);
+  }
+
+  private final long nanosPerPermit;
+  private final int burst;
+  private final Scheduler scheduler;
+  /** False to measure time with {@link System#nanoTime()} rather than the scheduler's clock. */
+  private final boolean schedulerClock;
+  private final boolean failFast;
+
+  /** Calls waiting for a permit in subscription order. Guarded by {@code this}. */
+  private final Deque<MonoSink<Void>> waiters = new ArrayDeque<>();
+  private int permits;
+  private long lastRefillNanos;
+  private Disposable pendingDrain;
+
+  private RateLimiter(double permitsPerSecond, int burst, Scheduler scheduler,
+      boolean schedulerClock, boolean failFast) {
+    if (!(permitsPerSecond > 0)) {
+      throw new IllegalArgumentException("permitsPerSecond <= 0: " + permitsPerSecond);
+    }
+    if (burst < 1) throw new IllegalArgumentException("burst < 1: " + burst);
+    this.nanosPerPermit = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+    this.burst = burst;
+    this.scheduler = scheduler;
+    this.schedulerClock = schedulerClock;
+    this.failFast = failFast;
+    this.permits = burst;
+    this.lastRefillNanos = now();
+  }
+
+  private long now() {
+    return schedulerClock ? scheduler.now(NANOSECONDS) : System.nanoTime();
+  }
+
+  /** Returns a {@link Mono} which completes once a permit has been granted to its subscriber. */
+  Mono<Void> acquire() {
+    return Mono.create(this::acquire);
+  }
+
+  private void acquire(MonoSink<Void> sink) {
+    boolean granted;
+    synchronized (this) {
+      refill();
+      if (waiters.isEmpty() && permits > 0) {
+        permits--;
+        granted = true;
+      } else if (failFast) {
+        granted = false;
+      } else {
+        sink.onCancel(() -> {
+          synchronized (this) {
+            waiters.remove(sink);
+          }
+        });
+        waiters.addLast(sink);
+        scheduleDrain();
+        return;
+      }
+    }
+    if (granted) {
+      sink.success();
+    } else {
+      sink.error(new RateLimitExceededException());
+    }
+  }
+
+  private void drain() {
+    List<MonoSink<Void>> ready = new ArrayList<>();
+    synchronized (this) {
+      pendingDrain = null;
+      refill();
+      while (permits > 0 && !waiters.isEmpty()) {
+        permits--;
+        ready.add(waiters.removeFirst());
+      }
+      scheduleDrain();
+    }
+    for (int i = 0, size = ready.size(); i < size; i++) {
+      ready.get(i).success();
+    }
+  }
+
+  /** Schedule a drain for when the next permit will be refilled. Must hold {@code this}. */
+  private void scheduleDrain() {
+    if (pendingDrain != null || waiters.isEmpty()) {
+      return;
+    }
+    long elapsed = now() - lastRefillNanos;
+    long delay = Math.max(0L, nanosPerPermit - elapsed);
+    pendingDrain = scheduler.schedule(this::drain, delay, NANOSECONDS);
+  }
+
+  /** Add any permits accrued since the last refill. Must hold {@code this}. */
+  private void refill() {
+    long now = now();
+    long accrued = (now - lastRefillNanos) / nanosPerPermit;
+    if (accrued <= 0) {
+      return;
+    }
+    if (permits + accrued >= burst) {
+      permits = burst;
+      lastRefillNanos = now;
+    } else {
+      permits += (int) accrued;
+      lastRefillNanos += accrued * nanosPerPermit;
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.io.IOException;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import reactor.core.publisher.Mono;
+import retrofit2.Converter;
+import retrofit2.Response;
+
+/** Sends requests and converts their responses without a Retrofit {@code Call}. */
+final class RawResponses {
+  /**
+   * Returns a Mono which sends {@code request} with {@code callFactory} for each subscriber without
+   * blocking a thread. Canceling the subscription cancels the call.
+   */
+  static <T> Mono<Response<T>> send(okhttp3.Call.Factory callFactory, Request request,
+      Converter<ResponseBody, T> converter) {
+    if (callFactory instanceof ReactiveCallFactory) {
+      return Mono.from(((ReactiveCallFactory) callFactory).execute(request))
+          .handle((rawResponse, sink) -> {
+            Response<T> response;
+            try {
+              response = parse(rawResponse, converter);
+            } catch (IOException e) {
+              sink.error(e);
+              return;
+            }
+            sink.next(response);
+          });
+    }
+    return Mono.create(sink -> {
+      okhttp3.Call call = callFactory.newCall(request);
+      sink.onCancel(call::cancel);
+      call.enqueue(new okhttp3.Callback() {
+        @Override public void onResponse(okhttp3.Call call, okhttp3.Response rawResponse) {
+          Response<T> response;
+          try {
+            response = parse(rawResponse, converter);
+          } catch (IOException | RuntimeException e) {
+            sink.error(e);
+            return;
+          }
+          sink.success(response);
+        }
+
+        @Override public void onFailure(okhttp3.Call call, IOException e) {
+          sink.error(e);
+        }
+      });
+    });
+  }
+
+  /** Mirrors Retrofit's handling of responses from {@link okhttp3.Call#execute()}. */
+  static <T> Response<T> parse(okhttp3.Response rawResponse, Converter<ResponseBody, T> converter)
+      throws IOException {
+    ResponseBody rawBody = rawResponse.body();
+    // Remove the body's source (the only stateful object) so we can pass the response along.
+    rawResponse = rawResponse.newBuilder()
+        .body(new NoContentResponseBody(rawBody.contentType(), rawBody.contentLength()))
+        .build();
+
+    int code = rawResponse.code();
+    if (code < 200 || code >= 300) {
+      try {
+        // Buffer the entire body to avoid future I/O.
+        Buffer buffer = new Buffer();
+        rawBody.source().readAll(buffer);
+        ResponseBody bufferedBody =
+            ResponseBody.create(rawBody.contentType(), rawBody.contentLength(), buffer);
+        return Response.error(bufferedBody, rawResponse);
+      } finally {
+        rawBody.close();
+      }
+    }
+
+    if (code == 204 || code == 205) {
+      rawBody.close();
+      return Response.success(null, rawResponse);
+    }
+
+    try {
+      return Response.success(converter.convert(rawBody), rawResponse);
+    } catch (IOException | RuntimeException e) {
+      rawBody.close();
+      throw e;
+    }
+  }
+
+  private static final class NoContentResponseBody extends ResponseBody {
+    private final MediaType contentType;
+    private final long contentLength;
+
+    NoContentResponseBody(MediaType contentType, long contentLength) {
+      this.contentType = contentType;
+      this.contentLength = contentLength;
+    }
+
+    @Override public MediaType contentType() {
+      return contentType;
+    }
+
+    @Override public long contentLength() {
+      return contentLength;
+    }
+
+    @Override public BufferedSource source() {
+      throw new IllegalStateException("Cannot read raw response body of a converted body.");
+    }
+  }
+
+  private RawResponses() {
+    throw new AssertionError();
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import okhttp3.Request;
+import okhttp3.Response;
+import org.reactivestreams.Publisher;
+
+/**
+ * An {@link okhttp3.Call.Factory} which can also execute requests without blocking a thread, such
+ * as one backed by Reactor Netty's event loops. When it is set as
+ * {@linkplain retrofit2.Retrofit.Builder#callFactory(okhttp3.Call.Factory) Retrofit's call
+ * factory}, {@code Flux} and {@code Mono} service methods send their requests with
+ * {@link #execute(Request)} instead of occupying a thread for each call. Other return types
+ * continue to use {@link #newCall(Request)}.
+ * <pre><code>
+ * Retrofit retrofit = new Retrofit.Builder()
+ *     .baseUrl("https://api.example.com")
+ *     .callFactory(nettyCallFactory)
+ *     .addCallAdapterFactory(ReactorCallAdapterFactory.create())
+ *     .build();
+ * </code></pre>
+ * Retrofit creates a call with {@link #newCall(Request)} for each invocation of a service method
+ * even when it is never executed, so creating one must not start any work.
+ */
+public interface ReactiveCallFactory extends okhttp3.Call.Factory {
+  /**
+   * Returns a publisher which sends {@code request} each time it is subscribed to and emits its
+   * response. Canceling the subscription must cancel the request.
+   * <p>
+   * The response body is read on the thread which emits the response. Implementations backed by
+   * an event loop should emit a response whose body has already been received so that reading it
+   * does not block.
+   */
+  Publisher<Response> execute(Request request);
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.util.context.Context;
+import retrofit2.Call;
+import retrofit2.Converter;
+import retrofit2.Response;
+
+/**
+ * Sends each subscriber's request with a {@link ReactiveCallFactory} rather than executing a
+ * {@link Call}, converting the response in the same way that Retrofit does.
+ */
+final class ReactiveCallFlux<T> extends Flux<Response<T>> {
+  private final Call<T> originalCall;
+  private final ReactiveCallFactory callFactory;
+  private final Converter<ResponseBody, T> converter;
+  private final boolean hasEventListener;
+
+  ReactiveCallFlux(Call<T> originalCall, ReactiveCallFactory callFactory,
+      Converter<ResponseBody, T> converter, boolean hasEventListener) {
+    this.originalCall = originalCall;
+    this.callFactory = callFactory;
+    this.converter = converter;
+    this.hasEventListener = hasEventListener;
+  }
+
+  @Override public void subscribe(CoreSubscriber<? super Response<T>> subscriber) {
+    // The call is never executed but clone it anyway so listeners see one call per subscriber.
+    Call<T> call = originalCall.clone();
+    EventListenerFlux.EventListenerSubscriber<?> events = hasEventListener
+        ? EventListenerFlux.events(subscriber.currentContext())
+        : null;
+    if (events != null) {
+      events.callCloned(call);
+    }
+
+    Request request;
+    try {
+      request = call.request();
+    } catch (Throwable t) {
+      Exceptions.throwIfFatal(t);
+      Operators.error(subscriber, t);
+      return;
+    }
+
+    ReactiveSubscription<T> subscription =
+        new ReactiveSubscription<>(subscriber, call, converter, events);
+    subscriber.onSubscribe(subscription);
+    if (subscription.isCancelled()) {
+      return;
+    }
+    if (events != null) {
+      events.callStart(call);
+    }
+    callFactory.execute(request).subscribe(subscription);
+  }
+
+  private static final class ReactiveSubscription<T> extends CallSubscription<T>
+      implements CoreSubscriber<okhttp3.Response> {
+    private final Converter<ResponseBody, T> converter;
+    private final EventListenerFlux.EventListenerSubscriber<?> events;
+    private boolean received;
+    private volatile Subscription upstream;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ReactiveSubscription, Subscription> UPSTREAM =
+        AtomicReferenceFieldUpdater.newUpdater(ReactiveSubscription.class, Subscription.class,
+            "upstream");
+
+    ReactiveSubscription(CoreSubscriber<? super Response<T>> subscriber, Call<T> call,
+        Converter<ResponseBody, T> converter, EventListenerFlux.EventListenerSubscriber<?> events) {
+      super(subscriber, call);
+      this.converter = converter;
+      this.events = events;
+    }
+
+    @Override public Context currentContext() {
+      return subscriber.currentContext();
+    }
+
+    @Override public void onSubscribe(Subscription subscription) {
+      if (Operators.setOnce(UPSTREAM, this, subscription)) {
+        subscription.request(Long.MAX_VALUE);
+      }
+    }
+
+    @Override public void onNext(okhttp3.Response rawResponse) {
+      if (received) {
+        rawResponse.close();
+        return;
+      }
+      received = true;
+      Response<T> response;
+      try {
+        response = RawResponses.parse(rawResponse, converter);
+      } catch (Throwable t) {
+        Exceptions.throwIfFatal(t);
+        fail(t);
+        return;
+      }
+      if (events != null) {
+        events.responseReceived(response);
+      }
+      complete(response);
+    }
+
+    @Override public void onError(Throwable throwable) {
+      if (!received) {
+        received = true;
+        fail(throwable);
+      }
+    }
+
+    @Override public void onComplete() {
+      if (!received) {
+        received = true;
+        fail(new NoSuchElementException("Call factory completed without a response"));
+      }
+    }
+
+    @Override void onCancel() {
+      Operators.terminate(UPSTREAM, this);
+    }
+  }
+}
@@ -16,32 +16,100 @@
 package com.jakewharton.retrofit2.adapter.reactor;
 
 import java.lang.reflect.Type;
-import java.util.function.Consumer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.FluxSink;
 import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import retrofit2.Call;
 import retrofit2.CallAdapter;
+import retrofit2.Converter;
+import retrofit2.Invocation;
 import retrofit2.Response;
 
-import static reactor.core.publisher.FluxSink.OverflowStrategy.LATEST;
-
 final class ReactorCallAdapter<R> implements CallAdapter<R, Object> {
   private final Type responseType;
+  /** Every call subscribes on this scheduler, or null. */
   private final Scheduler scheduler;
+  /** Calls subscribed to on a non-blocking thread subscribe on this scheduler instead, or null. */
+  private final Scheduler offloadScheduler;
   private final boolean isAsync;
   private final boolean isResult;
   private final boolean isBody;
   private final boolean isMono;
+  private final RateLimiter rateLimiter;
+  private final Function<Call<?>, CircuitBreaker> circuitBreakers;
+  private final CallQueue callQueue;
+  private final int priority;
+  private final Scheduler deadlineScheduler;
+  private final long timeoutMillis;
+  private final boolean contextDeadlines;
+  private final Scheduler emissionScheduler;
+  private final CallEventListener.Factory eventListenerFactory;
+  private final SlowCallDetector slowCallDetector;
+  private final BlockingCallPolicy blockingCallPolicy;
+  private final ReactiveCallFactory reactiveCallFactory;
+  private final Converter<ResponseBody, R> responseConverter;
+  private final Paginator paginator;
+  private final okhttp3.Call.Factory callFactory;
+  private final Scheduler pollingScheduler;
+  /** The {@link Polling} interval in nanoseconds, or -1 if the method does not poll. */
+  private final long pollIntervalNanos;
+  private final long maxPollIntervalNanos;
+  private final int switchLatestArgument;
+  /** In-flight calls by their {@link SwitchLatest} key, or null if the method does not switch. */
+  private final ConcurrentMap<Object, SwitchLatestFlux.SwitchLatestSubscriber<?>>
+      switchLatestCalls;
+  /** Header names by their {@link reactor.util.context.Context} key, or null for none. */
+  private final Map<Object, String> contextHeaders;
+  /** True once {@link #switchLatestArgument} is known to be in range. */
+  private volatile boolean switchLatestArgumentChecked;
 
-  ReactorCallAdapter(Type responseType, Scheduler scheduler, boolean isAsync, boolean isResult,
-      boolean isBody, boolean isMono) {
+  ReactorCallAdapter(Type responseType, Scheduler scheduler, Scheduler offloadScheduler,
+      boolean isAsync,
+      boolean isResult, boolean isBody, boolean isMono, RateLimiter rateLimiter,
+      Function<Call<?>, CircuitBreaker> circuitBreakers, CallQueue callQueue, int priority,
+      Scheduler deadlineScheduler, long timeoutMillis, boolean contextDeadlines,
+      Scheduler emissionScheduler, CallEventListener.Factory eventListenerFactory,
+      SlowCallDetector slowCallDetector, BlockingCallPolicy blockingCallPolicy,
+      ReactiveCallFactory reactiveCallFactory,
+      Converter<ResponseBody, R> responseConverter, Paginator paginator,
+      okhttp3.Call.Factory callFactory, Scheduler pollingScheduler, long pollIntervalNanos,
+      long maxPollIntervalNanos, int switchLatestArgument,
+      ConcurrentMap<Object, SwitchLatestFlux.SwitchLatestSubscriber<?>> switchLatestCalls,
+      Map<Object, String> contextHeaders) {
     this.responseType = responseType;
     this.scheduler = scheduler;
+    this.offloadScheduler = offloadScheduler;
     this.isAsync = isAsync;
     this.isResult = isResult;
     this.isBody = isBody;
     this.isMono = isMono;
+    this.rateLimiter = rateLimiter;
+    this.circuitBreakers = circuitBreakers;
+    this.callQueue = callQueue;
+    this.priority = priority;
+    this.deadlineScheduler = deadlineScheduler;
+    this.timeoutMillis = timeoutMillis;
+    this.contextDeadlines = contextDeadlines;
+    this.emissionScheduler = emissionScheduler;
+    this.eventListenerFactory = eventListenerFactory;
+    this.slowCallDetector = slowCallDetector;
+    this.blockingCallPolicy = blockingCallPolicy;
+    this.reactiveCallFactory = reactiveCallFactory;
+    this.responseConverter = responseConverter;
+    this.paginator = paginator;
+    this.callFactory = callFactory;
+    this.pollingScheduler = pollingScheduler;
+    this.pollIntervalNanos = pollIntervalNanos;
+    this.maxPollIntervalNanos = maxPollIntervalNanos;
+    this.switchLatestArgument = switchLatestArgument;
+    this.switchLatestCalls = switchLatestCalls;
+    this.contextHeaders = contextHeaders;
   }
 
   @Override public Type responseType() {
@@ -49,27 +117,167 @@ final class ReactorCallAdapter<R> implements CallAdapter<R, Object> {
   }
 
   @Override public Object adapt(Call<R> call) {
-    Consumer<FluxSink<Response<R>>> consumer = isAsync
-        ? new EnqueueSinkConsumer<>(call)
-        : new ExecuteSinkConsumer<>(call);
-    Flux<Response<R>> responseFlux = Flux.create(consumer, LATEST);
+    if (switchLatestArgument != -1 && !switchLatestArgumentChecked) {
+      checkSwitchLatestArgument(call);
+    }
+    // Captured here since the service method's caller is still on the stack.
+    Throwable assemblySite =
+        slowCallDetector != null ? slowCallDetector.sampleAssemblySite() : null;
+    Flux<?> flux = adapt(call, assemblySite);
+    if (contextHeaders != null) {
+      // Subscribers with headers in their context get a stream for a call with those headers.
+      flux = new ContextHeadersFlux<Object, R>(flux, call, contextHeaders, callFactory,
+          responseConverter, headersCall -> adapt(headersCall, assemblySite));
+    }
+
+    if (isMono) {
+      return flux.single();
+    }
+    return flux;
+  }
 
+  /**
+   * Throws if the {@link SwitchLatest} argument is not a parameter of the service method. The
+   * factory is not given the method, so this is checked when the method is first invoked.
+   */
+  private void checkSwitchLatestArgument(Call<R> call) {
+    Invocation invocation;
+    try {
+      invocation = call.request().tag(Invocation.class);
+    } catch (RuntimeException e) {
+      return; // The call fails with this exception when subscribed to.
+    }
+    if (invocation != null) {
+      int parameterCount = invocation.method().getParameterCount();
+      if (switchLatestArgument >= parameterCount) {
+        throw new IllegalArgumentException("@SwitchLatest(argument = " + switchLatestArgument
+            + ") but " + invocation.method().getName() + " has " + parameterCount
+            + " parameters");
+      }
+    }
+    switchLatestArgumentChecked = true;
+  }
+
+  private Flux<?> adapt(Call<R> call, Throwable assemblySite) {
+    boolean hasEventListener = eventListenerFactory != null;
+    if (pollIntervalNanos != -1) {
+      // Events describe the stream as a whole, so no poll reports them.
+      Function<Request, Flux<Response<R>>> polls = request -> {
+        Flux<Response<R>> poll = responseFlux(
+            new RequestCall<>(request, callFactory, responseConverter), assemblySite, false);
+        // Polls are started on the polling scheduler, which must not block.
+        return executesOnSubscribingThread() && offloadScheduler == null
+            ? poll.subscribeOn(Schedulers.elastic())
+            : poll;
+      };
+      Flux<R> flux = new PollingFlux<>(call, polls, pollingScheduler, pollIntervalNanos,
+          maxPollIntervalNanos);
+      return hasEventListener ? new EventListenerFlux<>(flux, call, eventListenerFactory) : flux;
+    }
+
+    Flux<Response<R>> responseFlux = responseFlux(call, assemblySite, hasEventListener);
     Flux<?> flux;
-    if (isResult) {
-      flux = new ResultFlux<>(responseFlux);
+    if (paginator != null) {
+      flux = paginate(responseFlux, call, assemblySite);
+    } else if (isResult) {
+      flux = new ResultFlux<>(responseFlux, hasEventListener);
     } else if (isBody) {
-      flux = new BodyFlux<>(responseFlux);
+      flux = new BodyFlux<>(responseFlux, hasEventListener);
     } else {
       flux = responseFlux;
     }
+    if (hasEventListener) {
+      flux = new EventListenerFlux<>(flux, call, eventListenerFactory);
+    }
+    return flux;
+  }
+
+  /**
+   * Returns a stream of the response to {@code call} which passes through every configured stage.
+   * Events are only reported to a listener if {@code reportEvents} is true.
+   */
+  private Flux<Response<R>> responseFlux(Call<R> call, Throwable assemblySite,
+      boolean reportEvents) {
+    Flux<Response<R>> responseFlux;
+    if (reactiveCallFactory != null) {
+      responseFlux =
+          new ReactiveCallFlux<>(call, reactiveCallFactory, responseConverter, reportEvents);
+    } else if (isAsync) {
+      responseFlux = new CallEnqueueFlux<>(call, emissionScheduler, reportEvents);
+    } else {
+      responseFlux = new CallExecuteFlux<>(call, reportEvents, blockingCallPolicy);
+    }
 
+    if (circuitBreakers != null) {
+      responseFlux = new CircuitBreakerFlux.StartFlux<>(responseFlux);
+    }
+    if (offloadScheduler != null) {
+      Flux<Response<R>> offloaded = responseFlux.subscribeOn(offloadScheduler);
+      responseFlux = new OffloadFlux<>(responseFlux, offloaded);
+    }
     if (scheduler != null) {
-      flux = flux.subscribeOn(scheduler);
+      responseFlux = responseFlux.subscribeOn(scheduler);
     }
-
-    if (isMono) {
-      return flux.single();
+    boolean executesOnSubscribingThread = executesOnSubscribingThread();
+    if (callQueue != null) {
+      // A queued call is started by the call which releases its slot. Don't block that call's
+      // thread, even if it may block, since its caller is waiting on it.
+      Scheduler startScheduler = !executesOnSubscribingThread ? null
+          : offloadScheduler != null ? offloadScheduler : Schedulers.elastic();
+      responseFlux = new CallQueueFlux<>(responseFlux, callQueue, priority, startScheduler);
     }
-    return flux;
+    if (rateLimiter != null) {
+      // Wait for a permit before queueing or hopping to the scheduler so nothing is held meanwhile.
+      if (executesOnSubscribingThread && offloadScheduler == null) {
+        // A call which waited is granted its permit on the rate limiter's timer thread, which
+        // must not block, so it executes on the elastic scheduler instead.
+        Flux<Response<R>> upstream = responseFlux;
+        Flux<Response<R>> offloaded = upstream.subscribeOn(Schedulers.elastic());
+        responseFlux = Flux.defer(() -> {
+          Thread subscribing = Thread.currentThread();
+          return rateLimiter.acquire().thenMany(Flux.defer(
+              () -> Thread.currentThread() == subscribing ? upstream : offloaded));
+        });
+      } else {
+        responseFlux = responseFlux.delaySubscription(rateLimiter.acquire());
+      }
+    }
+    if (timeoutMillis != -1 || contextDeadlines) {
+      // Deadlines also cover time spent waiting for a rate limiter permit or in the call queue.
+      responseFlux =
+          new DeadlineFlux<>(responseFlux, deadlineScheduler, timeoutMillis, contextDeadlines);
+    }
+    if (switchLatestCalls != null) {
+      // Outside the deadline, queue, and rate limiter so superseding also frees their resources.
+      responseFlux =
+          new SwitchLatestFlux<>(responseFlux, call, switchLatestArgument, switchLatestCalls);
+    }
+    if (slowCallDetector != null) {
+      responseFlux = new SlowCallFlux<>(responseFlux, call, slowCallDetector, assemblySite);
+    }
+    if (circuitBreakers != null) {
+      // Outermost so that a rejected call takes no rate limiter permit, queue slot, or thread.
+      responseFlux = new CircuitBreakerFlux<>(responseFlux, call, circuitBreakers);
+    }
+    return responseFlux;
+  }
+
+  /**
+   * Synchronous calls execute on the thread which subscribes to them unless moved to a scheduler.
+   */
+  private boolean executesOnSubscribingThread() {
+    return reactiveCallFactory == null && !isAsync && scheduler == null;
+  }
+
+  /** Only invoked when {@code R} is the {@code List<T>} of a {@link Paginated} method. */
+  @SuppressWarnings("unchecked")
+  private <T> Flux<T> paginate(Flux<Response<R>> firstPage, Call<R> call,
+      Throwable assemblySite) {
+    // Events describe the stream as a whole, so only the first page's call reports them.
+    Function<Request, Flux<Response<List<T>>>> pages = request -> (Flux<Response<List<T>>>)
+        (Flux<?>) responseFlux(new RequestCall<>(request, callFactory, responseConverter),
+            assemblySite, false);
+    return new PaginatedFlux<>((Flux<Response<List<T>>>) (Flux<?>) firstPage,
+        (Call<List<T>>) call, pages, paginator);
   }
 }
@@ -17,12 +17,28 @@ package com.jakewharton.retrofit2.adapter.reactor;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import okhttp3.ResponseBody;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import retrofit2.Call;
 import retrofit2.CallAdapter;
+import retrofit2.Converter;
 import retrofit2.Response;
 import retrofit2.Retrofit;
 
@@ -49,14 +65,35 @@ import retrofit2.Retrofit;
  * <li>Result wrapped body (e.g., {@code Flux<Result<User>>}) calls {@code onNext} with a
  * {@link Result} object for all HTTP responses and errors.</li>
  * </ul>
+ * Additional behavior such as {@linkplain Builder#rateLimiter(RateLimiter) rate limiting} can be
+ * configured with {@link #newBuilder()}.
+ * <p>
+ * When Retrofit's call factory is a {@link ReactiveCallFactory}, requests are sent with it instead
+ * of executing or enqueueing a {@link Call}, so no thread is occupied while a call is in flight.
  */
 public final class ReactorCallAdapterFactory extends CallAdapter.Factory {
+  /**
+   * The {@link reactor.util.context.Context} key of an {@link java.time.Instant} after which nobody
+   * is waiting for a call's response. Calls subscribed after the deadline fail immediately with
+   * {@link DeadlineExceededException} without being sent. Calls still running at the deadline are
+   * canceled and fail with the same exception. Only enforced by factories with
+   * {@linkplain Builder#contextDeadlines(boolean) context deadlines} enabled.
+   */
+  public static final String DEADLINE_KEY = "retrofit2.adapter.reactor.deadline";
+
+  /**
+   * The {@link reactor.util.context.Context} key of the value which identifies calls to a
+   * {@link SwitchLatest} method that supersede each other. It takes precedence over the key
+   * chosen by the annotation.
+   */
+  public static final String SWITCH_LATEST_KEY = "retrofit2.adapter.reactor.switchLatest";
+
   /**
    * Returns an instance which creates synchronous observables that do not operate on any scheduler
    * by default.
    */
   public static ReactorCallAdapterFactory create() {
-    return new ReactorCallAdapterFactory(null, false);
+    return new Builder(null, false, false).build();
   }
 
   /**
@@ -64,7 +101,7 @@ public final class ReactorCallAdapterFactory extends CallAdapter.Factory {
    * {@link Flux#subscribeOn} has no effect on stream types created by this factory.
    */
   public static ReactorCallAdapterFactory createAsync() {
-    return new ReactorCallAdapterFactory(null, true);
+    return new Builder(null, true, false).build();
   }
 
   /**
@@ -73,15 +110,108 @@ public final class ReactorCallAdapterFactory extends CallAdapter.Factory {
    */
   public static ReactorCallAdapterFactory createWithScheduler(Scheduler scheduler) {
     if (scheduler == null) throw new NullPointerException("scheduler == null");
-    return new ReactorCallAdapterFactory(scheduler, false);
+    return new Builder(scheduler, false, false).build();
+  }
+
+  /**
+   * Returns an instance which creates synchronous observables that execute on the subscribing
+   * thread when it may block, and otherwise {@linkplain Flux#subscribeOn(Scheduler) subscribe on}
+   * {@code scheduler}. Threads of Reactor's {@linkplain Schedulers#parallel() parallel} and
+   * {@linkplain Schedulers#single() single} schedulers, and any other thread which implements
+   * {@link reactor.core.scheduler.NonBlocking}, are never blocked. Subscribing from any other
+   * thread saves the hop to {@code scheduler}.
+   */
+  public static ReactorCallAdapterFactory createAdaptive(Scheduler scheduler) {
+    if (scheduler == null) throw new NullPointerException("scheduler == null");
+    return new Builder(scheduler, false, true).build();
+  }
+
+  /**
+   * Returns an instance which creates synchronous observables that execute each call on its own
+   * virtual thread. Blocking a virtual thread while a call executes does not tie up a platform
+   * thread, so this has the footprint of {@link #createAsync()} while keeping the behavior of
+   * {@link #createWithScheduler(Scheduler)}. Every instance shares one scheduler which is created
+   * the first time this method is called.
+   *
+   * @throws UnsupportedOperationException if the runtime does not support virtual threads (Java 21
+   * or newer).
+   */
+  public static ReactorCallAdapterFactory createWithVirtualThreads() {
+    return new Builder(VirtualThreads.scheduler(), false, false).build();
+  }
+
+  /** Holds the scheduler shared by every factory which uses virtual threads. */
+  private static final class VirtualThreads {
+    private static volatile Scheduler scheduler;
+
+    static Scheduler scheduler() {
+      Scheduler scheduler = VirtualThreads.scheduler;
+      if (scheduler == null) {
+        synchronized (VirtualThreads.class) {
+          scheduler = VirtualThreads.scheduler;
+          if (scheduler == null) {
+            VirtualThreads.scheduler = scheduler = Schedulers.fromExecutorService(newExecutor());
+          }
+        }
+      }
+      return scheduler;
+    }
+
+    private static ExecutorService newExecutor() {
+      try {
+        // Looked up reflectively so that this library continues to run on Java 8.
+        Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        return (ExecutorService) method.invoke(null);
+      } catch (NoSuchMethodException e) {
+        throw new UnsupportedOperationException("Virtual threads require Java 21 or newer", e);
+      } catch (IllegalAccessException | InvocationTargetException e) {
+        throw new UnsupportedOperationException("Virtual threads are not available", e);
+      }
+    }
   }
 
   private final Scheduler scheduler;
   private final boolean isAsync;
+  private final boolean isAdaptive;
+  private final RateLimiter rateLimiter;
+  private final Map<String, RateLimiter> rateLimiters;
+  private final Function<Call<?>, CircuitBreaker> circuitBreakers;
+  private final CallQueue callQueue;
+  private final Scheduler deadlineScheduler;
+  private final boolean contextDeadlines;
+  private final Scheduler emissionScheduler;
+  private final List<CallEventListener.Factory> eventListenerFactories;
+  /** Null when no listeners are installed. */
+  private final CallEventListener.Factory eventListenerFactory;
+  private final SlowCallDetector slowCallDetector;
+  private final BlockingCallPolicy blockingCallPolicy;
+  private final Paginator paginator;
+  private final Scheduler pollingScheduler;
+  private final Map<Object, String> contextHeaders;
+
+  private ReactorCallAdapterFactory(Builder builder) {
+    this.scheduler = builder.scheduler;
+    this.isAsync = builder.isAsync;
+    this.isAdaptive = builder.isAdaptive;
+    this.rateLimiter = builder.rateLimiter;
+    this.rateLimiters = new LinkedHashMap<>(builder.rateLimiters);
+    this.circuitBreakers = builder.circuitBreakers;
+    this.callQueue = builder.callQueue;
+    this.deadlineScheduler = builder.deadlineScheduler;
+    this.contextDeadlines = builder.contextDeadlines;
+    this.emissionScheduler = builder.emissionScheduler;
+    this.eventListenerFactories = new ArrayList<>(builder.eventListenerFactories);
+    this.eventListenerFactory = CallEventListener.compose(eventListenerFactories);
+    this.slowCallDetector = builder.slowCallDetector;
+    this.blockingCallPolicy = builder.blockingCallPolicy;
+    this.paginator = builder.paginator;
+    this.pollingScheduler = builder.pollingScheduler;
+    this.contextHeaders = new LinkedHashMap<>(builder.contextHeaders);
+  }
 
-  private ReactorCallAdapterFactory(Scheduler scheduler, boolean isAsync) {
-    this.scheduler = scheduler;
-    this.isAsync = isAsync;
+  /** Returns a builder which creates a factory sharing this factory's configuration. */
+  public Builder newBuilder() {
+    return new Builder(this);
   }
 
   @Override
@@ -121,6 +251,370 @@ public final class ReactorCallAdapterFactory extends CallAdapter.Factory {
       isBody = true;
     }
 
-    return new ReactorCallAdapter(responseType, scheduler, isAsync, isResult, isBody, isMono);
+    RateLimiter rateLimiter = this.rateLimiter;
+    boolean isRateLimited = false;
+    boolean isPaginated = false;
+    Polling polling = null;
+    SwitchLatest switchLatest = null;
+    int priority = 0;
+    long timeoutMillis = -1;
+    for (Annotation annotation : annotations) {
+      if (annotation instanceof CallPriority) {
+        priority = ((CallPriority) annotation).value();
+      } else if (annotation instanceof Timeout) {
+        Timeout timeout = (Timeout) annotation;
+        timeoutMillis = timeout.unit().toMillis(timeout.value());
+        if (timeoutMillis < 0) {
+          throw new IllegalStateException("@Timeout must not be negative: " + timeoutMillis + "ms");
+        }
+      } else if (annotation instanceof Paginated) {
+        isPaginated = true;
+      } else if (annotation instanceof SwitchLatest) {
+        switchLatest = (SwitchLatest) annotation;
+        if (switchLatest.argument() < -1) {
+          throw new IllegalStateException("@SwitchLatest argument must not be negative: "
+              + switchLatest.argument());
+        }
+      } else if (annotation instanceof Polling) {
+        polling = (Polling) annotation;
+      } else if (annotation instanceof RateLimited) {
+        String name = ((RateLimited) annotation).value();
+        rateLimiter = rateLimiters.get(name);
+        isRateLimited = true;
+        if (rateLimiter == null) {
+          throw new IllegalStateException("No rate limiter registered for @RateLimited(\""
+              + name + "\")");
+        }
+      }
+    }
+
+    if (isPaginated) {
+      if (isMono || !isBody) {
+        throw new IllegalStateException("@Paginated methods must return Flux<Item>");
+      }
+      if (switchLatest != null) {
+        // Superseding applies to a single response but a paginated stream has many.
+        throw new IllegalStateException("@SwitchLatest cannot be combined with @Paginated");
+      }
+      // Each page is converted as a list of items.
+      responseType = new ListType(responseType);
+    }
+    long pollIntervalNanos = -1;
+    long maxPollIntervalNanos = -1;
+    if (polling != null) {
+      if (isMono || !isBody || isPaginated) {
+        throw new IllegalStateException("@Polling methods must return Flux<Body>");
+      }
+      if (switchLatest != null) {
+        // Superseding applies to a single response but a polling stream has many.
+        throw new IllegalStateException("@SwitchLatest cannot be combined with @Polling");
+      }
+      pollIntervalNanos = polling.unit().toNanos(polling.interval());
+      if (pollIntervalNanos <= 0) {
+        throw new IllegalStateException("@Polling interval must be positive: "
+            + polling.interval());
+      }
+      maxPollIntervalNanos = polling.maxInterval() == -1
+          ? pollIntervalNanos * 8
+          : polling.unit().toNanos(polling.maxInterval());
+      if (maxPollIntervalNanos < pollIntervalNanos) {
+        throw new IllegalStateException("@Polling maxInterval < interval: "
+            + polling.maxInterval() + " < " + polling.interval());
+      }
+    }
+
+    ReactiveCallFactory reactiveCallFactory = null;
+    Converter<ResponseBody, ?> responseConverter = null;
+    if (retrofit.callFactory() instanceof ReactiveCallFactory) {
+      reactiveCallFactory = (ReactiveCallFactory) retrofit.callFactory();
+    }
+    if (reactiveCallFactory != null || isPaginated || polling != null
+        || !contextHeaders.isEmpty()) {
+      responseConverter = retrofit.responseBodyConverter(responseType, annotations);
+    }
+
+    // BlockingCallPolicy.OFFLOAD behaves like createAdaptive(Schedulers.elastic()) but applies
+    // after any hop to this factory's scheduler, in case that scheduler's threads must not block.
+    Scheduler offloadScheduler = isAdaptive ? scheduler
+        : blockingCallPolicy == BlockingCallPolicy.OFFLOAD ? Schedulers.elastic() : null;
+    return new ReactorCallAdapter(responseType, isAdaptive ? null : scheduler, offloadScheduler,
+        isAsync, isResult, isBody, isMono, rateLimiter, circuitBreakers, callQueue, priority,
+        deadlineScheduler, timeoutMillis, contextDeadlines, emissionScheduler, eventListenerFactory,
+        slowCallDetector, blockingCallPolicy, reactiveCallFactory, responseConverter,
+        isPaginated ? paginator : null, retrofit.callFactory(), pollingScheduler,
+        pollIntervalNanos, maxPollIntervalNanos,
+        switchLatest != null ? switchLatest.argument() : -1,
+        switchLatest != null ? new ConcurrentHashMap<>() : null,
+        contextHeaders.isEmpty() ? null : contextHeaders);
+  }
+
+  private static final class ListType implements ParameterizedType {
+    private final Type elementType;
+
+    ListType(Type elementType) {
+      this.elementType = elementType;
+    }
+
+    @Override public Type[] getActualTypeArguments() {
+      return new Type[] { elementType };
+    }
+
+    @Override public Type getRawType() {
+      return List.class;
+    }
+
+    @Override public Type getOwnerType() {
+      return null;
+    }
+
+    @Override public boolean equals(Object other) {
+      if (!(other instanceof ParameterizedType)) return false;
+      ParameterizedType that = (ParameterizedType) other;
+      return that.getRawType() == List.class
+          && that.getOwnerType() == null
+          && Arrays.equals(that.getActualTypeArguments(), getActualTypeArguments());
+    }
+
+    @Override public int hashCode() {
+      // Matches the JDK's implementation so that either can be used as a key.
+      return (31 + elementType.hashCode()) ^ List.class.hashCode();
+    }
+
+    @Override public String toString() {
+      return "java.util.List<" + elementType.getTypeName() + ">";
+    }
+  }
+
+  /**
+   * Configures a {@link ReactorCallAdapterFactory}. Obtain an instance with
+   * {@link ReactorCallAdapterFactory#newBuilder()}.
+   */
+  public static final class Builder {
+    final Scheduler scheduler;
+    final boolean isAsync;
+    final boolean isAdaptive;
+    RateLimiter rateLimiter;
+    final Map<String, RateLimiter> rateLimiters = new LinkedHashMap<>();
+    Function<Call<?>, CircuitBreaker> circuitBreakers;
+    CallQueue callQueue;
+    Scheduler deadlineScheduler = Schedulers.parallel();
+    boolean contextDeadlines;
+    Scheduler emissionScheduler;
+    final List<CallEventListener.Factory> eventListenerFactories = new ArrayList<>();
+    SlowCallDetector slowCallDetector;
+    BlockingCallPolicy blockingCallPolicy = BlockingCallPolicy.ALLOW;
+    Paginator paginator = Paginator.LINK_HEADER;
+    Scheduler pollingScheduler = Schedulers.parallel();
+    final Map<Object, String> contextHeaders = new LinkedHashMap<>();
+
+    Builder(Scheduler scheduler, boolean isAsync, boolean isAdaptive) {
+      this.scheduler = scheduler;
+      this.isAsync = isAsync;
+      this.isAdaptive = isAdaptive;
+    }
+
+    Builder(ReactorCallAdapterFactory factory) {
+      this.scheduler = factory.scheduler;
+      this.isAsync = factory.isAsync;
+      this.isAdaptive = factory.isAdaptive;
+      this.rateLimiter = factory.rateLimiter;
+      this.rateLimiters.putAll(factory.rateLimiters);
+      this.circuitBreakers = factory.circuitBreakers;
+      this.callQueue = factory.callQueue;
+      this.deadlineScheduler = factory.deadlineScheduler;
+      this.contextDeadlines = factory.contextDeadlines;
+      this.emissionScheduler = factory.emissionScheduler;
+      this.eventListenerFactories.addAll(factory.eventListenerFactories);
+      this.slowCallDetector = factory.slowCallDetector;
+      this.blockingCallPolicy = factory.blockingCallPolicy;
+      this.paginator = factory.paginator;
+      this.pollingScheduler = factory.pollingScheduler;
+      this.contextHeaders.putAll(factory.contextHeaders);
+    }
+
+    /**
+     * Delay the start of every call until {@code rateLimiter} grants a permit. Service methods
+     * annotated with {@link RateLimited} use their named limiter instead.
+     */
+    public Builder rateLimiter(RateLimiter rateLimiter) {
+      if (rateLimiter == null) throw new NullPointerException("rateLimiter == null");
+      this.rateLimiter = rateLimiter;
+      return this;
+    }
+
+    /**
+     * Delay the start of calls to service methods annotated with
+     * {@link RateLimited &#64;RateLimited(name)} until {@code rateLimiter} grants a permit.
+     */
+    public Builder rateLimiter(String name, RateLimiter rateLimiter) {
+      if (name == null) throw new NullPointerException("name == null");
+      if (rateLimiter == null) throw new NullPointerException("rateLimiter == null");
+      rateLimiters.put(name, rateLimiter);
+      return this;
+    }
+
+    /**
+     * Record the outcome of every call with {@code circuitBreaker} and fail calls while it is open.
+     * Calls which are rejected fail with {@link CircuitBreakerOpenException} before being cloned.
+     */
+    public Builder circuitBreaker(CircuitBreaker circuitBreaker) {
+      if (circuitBreaker == null) throw new NullPointerException("circuitBreaker == null");
+      this.circuitBreakers = call -> circuitBreaker;
+      return this;
+    }
+
+    /**
+     * Record the outcome of calls with a circuit breaker for the host of their URL, creating one
+     * with {@code circuitBreakerFactory} for each new host.
+     *
+     * @see #circuitBreaker(CircuitBreaker)
+     */
+    public Builder circuitBreakerPerHost(Supplier<CircuitBreaker> circuitBreakerFactory) {
+      if (circuitBreakerFactory == null) {
+        throw new NullPointerException("circuitBreakerFactory == null");
+      }
+      Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+      this.circuitBreakers = call -> circuitBreakers.computeIfAbsent(call.request().url().host(),
+          host -> circuitBreakerFactory.get());
+      return this;
+    }
+
+    /**
+     * Wait in {@code callQueue} before starting each call so that no more than its maximum number
+     * of calls execute at once. Calls which wait are started in priority order.
+     */
+    public Builder callQueue(CallQueue callQueue) {
+      if (callQueue == null) throw new NullPointerException("callQueue == null");
+      this.callQueue = callQueue;
+      return this;
+    }
+
+    /**
+     * Enforce the {@link #DEADLINE_KEY deadline} in each subscriber's
+     * {@link reactor.util.context.Context}. Disabled by default, in which case calls to methods
+     * without a {@link Timeout} have no deadline stage at all.
+     */
+    public Builder contextDeadlines(boolean enabled) {
+      this.contextDeadlines = enabled;
+      return this;
+    }
+
+    /**
+     * The scheduler whose clock and timers enforce {@link #DEADLINE_KEY deadlines} and
+     * {@link Timeout timeouts}. Defaults to {@linkplain Schedulers#parallel() the parallel
+     * scheduler}.
+     */
+    public Builder deadlineScheduler(Scheduler deadlineScheduler) {
+      if (deadlineScheduler == null) throw new NullPointerException("deadlineScheduler == null");
+      this.deadlineScheduler = deadlineScheduler;
+      return this;
+    }
+
+    /**
+     * Emit the responses and errors of asynchronous calls on a worker of {@code emissionScheduler}
+     * rather than on OkHttp's dispatcher thread, returning that thread to OkHttp before any
+     * downstream processing occurs. Each subscriber uses a single worker. Only supported by
+     * factories created with {@link #createAsync()}.
+     */
+    public Builder emissionScheduler(Scheduler emissionScheduler) {
+      if (emissionScheduler == null) throw new NullPointerException("emissionScheduler == null");
+      this.emissionScheduler = emissionScheduler;
+      return this;
+    }
+
+    /**
+     * Report the lifecycle of every call to {@code eventListener}. Streams do no additional work
+     * when no listener is installed.
+     * <p>
+     * Listeners are additive: each listener added with this method or
+     * {@link #eventListenerFactory(CallEventListener.Factory)} receives every event, in the order
+     * the listeners were added. This allows {@link LatencyMetrics}, {@link DispatcherMetrics}, and
+     * an application's own listener to be installed together.
+     */
+    public Builder eventListener(CallEventListener eventListener) {
+      if (eventListener == null) throw new NullPointerException("eventListener == null");
+      eventListenerFactories.add(CallEventListener.factory(eventListener));
+      return this;
+    }
+
+    /**
+     * Report the lifecycle of each subscription to a listener created by
+     * {@code eventListenerFactory}, in addition to any listeners already added.
+     *
+     * @see #eventListener(CallEventListener)
+     */
+    public Builder eventListenerFactory(CallEventListener.Factory eventListenerFactory) {
+      if (eventListenerFactory == null) {
+        throw new NullPointerException("eventListenerFactory == null");
+      }
+      eventListenerFactories.add(eventListenerFactory);
+      return this;
+    }
+
+    /** Report calls whose response is slow to arrive to {@code slowCallDetector}. */
+    public Builder slowCallDetector(SlowCallDetector slowCallDetector) {
+      if (slowCallDetector == null) throw new NullPointerException("slowCallDetector == null");
+      this.slowCallDetector = slowCallDetector;
+      return this;
+    }
+
+    /**
+     * What synchronous calls do when subscribed to on a thread which must not block. Defaults to
+     * {@link BlockingCallPolicy#ALLOW}. Not supported by factories created with
+     * {@link #createAsync()} since their calls never block. Factories created with
+     * {@link #createAdaptive(Scheduler)} never execute calls on such a thread, so
+     * {@link BlockingCallPolicy#OFFLOAD} has no further effect on them.
+     */
+    public Builder blockingCallPolicy(BlockingCallPolicy blockingCallPolicy) {
+      if (blockingCallPolicy == null) {
+        throw new NullPointerException("blockingCallPolicy == null");
+      }
+      this.blockingCallPolicy = blockingCallPolicy;
+      return this;
+    }
+
+    /**
+     * Find the next page of {@link Paginated} methods with {@code paginator}. Defaults to
+     * {@link Paginator#LINK_HEADER}.
+     */
+    public Builder paginator(Paginator paginator) {
+      if (paginator == null) throw new NullPointerException("paginator == null");
+      this.paginator = paginator;
+      return this;
+    }
+
+    /**
+     * The scheduler which times and emits the polls of {@link Polling} methods. Defaults to
+     * {@linkplain Schedulers#parallel() the parallel scheduler}.
+     */
+    public Builder pollingScheduler(Scheduler pollingScheduler) {
+      if (pollingScheduler == null) throw new NullPointerException("pollingScheduler == null");
+      this.pollingScheduler = pollingScheduler;
+      return this;
+    }
+
+    /**
+     * Send the value of {@code contextKey} in each subscriber's
+     * {@link reactor.util.context.Context} as the header {@code name}, replacing any header of that
+     * name set by the service method. This lets one {@link Retrofit} and connection pool carry
+     * per-tenant or per-trace headers. Subscribers whose context has no value for the key send the
+     * request unchanged.
+     */
+    public Builder contextHeader(String name, Object contextKey) {
+      if (name == null) throw new NullPointerException("name == null");
+      if (contextKey == null) throw new NullPointerException("contextKey == null");
+      contextHeaders.put(contextKey, name);
+      return this;
+    }
+
+    public ReactorCallAdapterFactory build() {
+      if (emissionScheduler != null && !isAsync) {
+        throw new IllegalStateException("emissionScheduler requires createAsync()");
+      }
+      if (blockingCallPolicy != BlockingCallPolicy.ALLOW && isAsync) {
+        throw new IllegalStateException("blockingCallPolicy requires a synchronous factory");
+      }
+      return new ReactorCallAdapterFactory(this);
+    }
   }
 }
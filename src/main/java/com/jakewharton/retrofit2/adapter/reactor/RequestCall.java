@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.io.IOException;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import reactor.core.Exceptions;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Converter;
+import retrofit2.Response;
+
+/**
+ * A call which sends a request built by this library, such as a copy of a service method's request
+ * with additional headers or a different URL. It is sent with Retrofit's call factory and its
+ * response is converted in the same way that Retrofit does.
+ */
+final class RequestCall<R> implements Call<R> {
+  private final Request request;
+  private final okhttp3.Call.Factory callFactory;
+  private final Converter<ResponseBody, R> converter;
+  private volatile boolean canceled;
+  private boolean executed; // Guarded by this.
+  private okhttp3.Call rawCall; // Guarded by this.
+
+  RequestCall(Request request, okhttp3.Call.Factory callFactory,
+      Converter<ResponseBody, R> converter) {
+    this.request = request;
+    this.callFactory = callFactory;
+    this.converter = converter;
+  }
+
+  private synchronized okhttp3.Call start() {
+    if (executed) throw new IllegalStateException("Already executed.");
+    executed = true;
+    rawCall = callFactory.newCall(request);
+    if (canceled) {
+      rawCall.cancel();
+    }
+    return rawCall;
+  }
+
+  @Override public Response<R> execute() throws IOException {
+    return RawResponses.parse(start().execute(), converter);
+  }
+
+  @Override public void enqueue(Callback<R> callback) {
+    if (callback == null) throw new NullPointerException("callback == null");
+    start().enqueue(new okhttp3.Callback() {
+      @Override public void onResponse(okhttp3.Call rawCall, okhttp3.Response rawResponse) {
+        Response<R> response;
+        try {
+          response = RawResponses.parse(rawResponse, converter);
+        } catch (Throwable t) {
+          Exceptions.throwIfFatal(t);
+          callback.onFailure(RequestCall.this, t);
+          return;
+        }
+        callback.onResponse(RequestCall.this, response);
+      }
+
+      @Override public void onFailure(okhttp3.Call rawCall, IOException e) {
+        callback.onFailure(RequestCall.this, e);
+      }
+    });
+  }
+
+  @Override public synchronized boolean isExecuted() {
+    return executed;
+  }
+
+  @Override public void cancel() {
+    canceled = true;
+    okhttp3.Call rawCall;
+    synchronized (this) {
+      rawCall = this.rawCall;
+    }
+    if (rawCall != null) {
+      rawCall.cancel();
+    }
+  }
+
+  @Override public boolean isCanceled() {
+    return canceled;
+  }
+
+  @Override public Call<R> clone() {
+    return new RequestCall<>(request, callFactory, converter);
+  }
+
+  @Override public Request request() {
+    return request;
+  }
+}
@@ -16,7 +16,6 @@
 package com.jakewharton.retrofit2.adapter.reactor;
 
 import org.reactivestreams.Publisher;
-import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
 import reactor.core.publisher.Flux;
@@ -26,20 +25,32 @@ import retrofit2.Response;
 
 final class ResultFlux<T> extends Flux<Result<T>> {
   private final Publisher<Response<T>> upstream;
+  private final boolean hasEventListener;
 
-  ResultFlux(Publisher<Response<T>> upstream) {
+  ResultFlux(Publisher<Response<T>> upstream, boolean hasEventListener) {
     this.upstream = upstream;
+    this.hasEventListener = hasEventListener;
   }
 
   @Override public void subscribe(CoreSubscriber<? super Result<T>> subscriber) {
-    upstream.subscribe(new ResultSubscriber<>(subscriber));
+    EventListenerFlux.EventListenerSubscriber<?> events = hasEventListener
+        ? EventListenerFlux.events(subscriber.currentContext())
+        : null;
+    upstream.subscribe(new ResultSubscriber<>(subscriber, events));
   }
 
-  private static class ResultSubscriber<R> implements Subscriber<Response<R>> {
-    private final Subscriber<? super Result<R>> subscriber;
+  private static class ResultSubscriber<R> implements CoreSubscriber<Response<R>> {
+    private final CoreSubscriber<? super Result<R>> subscriber;
+    private final EventListenerFlux.EventListenerSubscriber<?> events;
 
-    ResultSubscriber(Subscriber<? super Result<R>> subscriber) {
+    ResultSubscriber(CoreSubscriber<? super Result<R>> subscriber,
+        EventListenerFlux.EventListenerSubscriber<?> events) {
       this.subscriber = subscriber;
+      this.events = events;
+    }
+
+    @Override public Context currentContext() {
+      return subscriber.currentContext();
     }
 
     @Override public void onSubscribe(Subscription s) {
@@ -47,17 +58,17 @@ final class ResultFlux<T> extends Flux<Result<T>> {
     }
 
     @Override public void onNext(Response<R> response) {
-      subscriber.onNext(Result.response(response));
+      subscriber.onNext(emit(Result.response(response)));
     }
 
     @Override public void onError(Throwable throwable) {
       try {
-        subscriber.onNext(Result.error(throwable));
+        subscriber.onNext(emit(Result.error(throwable)));
       } catch (Throwable t) {
         try {
           subscriber.onError(t);
         } catch (Throwable inner) {
-          Operators.onErrorDropped(inner, Context.empty());
+          Operators.onErrorDropped(inner, subscriber.currentContext());
         }
         return;
       }
@@ -67,5 +78,12 @@ final class ResultFlux<T> extends Flux<Result<T>> {
     @Override public void onComplete() {
       subscriber.onComplete();
     }
+
+    private Result<R> emit(Result<R> result) {
+      if (events != null) {
+        events.resultEmitted(result);
+      }
+      return result;
+    }
   }
 }
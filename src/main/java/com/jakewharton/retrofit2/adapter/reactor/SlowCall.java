@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.reflect.Method;
+import okhttp3.HttpUrl;
+
+/** A call reported by a {@link SlowCallDetector}. */
+public final class SlowCall {
+  private final Method method;
+  private final HttpUrl url;
+  private final long durationNanos;
+  private final boolean canceled;
+  private final Throwable assemblySite;
+
+  SlowCall(Method method, HttpUrl url, long durationNanos, boolean canceled,
+      Throwable assemblySite) {
+    this.method = method;
+    this.url = url;
+    this.durationNanos = durationNanos;
+    this.canceled = canceled;
+    this.assemblySite = assemblySite;
+  }
+
+  /**
+   * The service method which was invoked, or null if unknown or if the call's request could not be
+   * created.
+   */
+  public Method method() {
+    return method;
+  }
+
+  /** The URL which was requested, or null if the call's request could not be created. */
+  public HttpUrl url() {
+    return url;
+  }
+
+  /**
+   * The time from subscription until the response or failure arrived, or until the call was
+   * canceled, in nanoseconds. This includes time spent waiting for a rate limiter permit or in a
+   * call queue.
+   */
+  public long durationNanos() {
+    return durationNanos;
+  }
+
+  /** True if the call was canceled before its response or failure arrived. */
+  public boolean canceled() {
+    return canceled;
+  }
+
+  /**
+   * A throwable whose stack trace is the call site which created the stream, or null if this call
+   * was not sampled.
+   */
+  public Throwable assemblySite() {
+    return assemblySite;
+  }
+
+  @Override public String toString() {
+    return "SlowCall{method=" + method + ", url=" + url + ", durationNanos=" + durationNanos
+        + ", canceled=" + canceled + '}';
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import okhttp3.Request;
+import reactor.core.scheduler.Scheduler;
+import retrofit2.Call;
+import retrofit2.Invocation;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Reports calls whose response takes at least {@linkplain Builder#threshold(Duration) the
+ * threshold} to arrive. Calls which are canceled after waiting at least that long, such as by a
+ * downstream {@code timeout()}, are {@linkplain SlowCall#canceled() reported} too. Install one with
+ * {@link ReactorCallAdapterFactory.Builder#slowCallDetector(SlowCallDetector)}.
+ * <p>
+ * Unlike {@code Hooks.onOperatorDebug()}, which captures a stack trace for every operator, this
+ * captures the call site which created the stream for only a {@linkplain Builder#sampleRate(double)
+ * sampled fraction} of calls. Calls which are not sampled are reported without it. The cost of
+ * unsampled calls which are fast is reading the clock twice.
+ */
+public final class SlowCallDetector {
+  private final long thresholdNanos;
+  private final double sampleRate;
+  private final Reporter reporter;
+  /** Measures time, or null to use {@link System#nanoTime()}. */
+  private final Scheduler scheduler;
+
+  SlowCallDetector(Builder builder) {
+    this.thresholdNanos = builder.threshold.toNanos();
+    this.sampleRate = builder.sampleRate;
+    this.reporter = builder.reporter;
+    this.scheduler = builder.scheduler;
+  }
+
+  /** Returns the call site of the caller if this call is sampled, or null. */
+  Throwable sampleAssemblySite() {
+    if (sampleRate == 1 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+      return new AssemblySite();
+    }
+    return null;
+  }
+
+  long now() {
+    return scheduler != null ? scheduler.now(NANOSECONDS) : System.nanoTime();
+  }
+
+  /**
+   * Reports {@code call} if its response took too long since {@code startNanos}, or if it was
+   * {@code canceled} after waiting too long.
+   */
+  void onResponse(Call<?> call, long startNanos, boolean canceled, Throwable assemblySite) {
+    long elapsedNanos = now() - startNanos;
+    if (elapsedNanos >= thresholdNanos) {
+      Request request;
+      try {
+        request = call.request();
+      } catch (RuntimeException e) {
+        // The call failed with the same exception because its request could not be created.
+        reporter.report(new SlowCall(null, null, elapsedNanos, canceled, assemblySite));
+        return;
+      }
+      Invocation invocation = request.tag(Invocation.class);
+      Method method = invocation != null ? invocation.method() : null;
+      reporter.report(new SlowCall(method, request.url(), elapsedNanos, canceled, assemblySite));
+    }
+  }
+
+  public interface Reporter {
+    /**
+     * Invoked on the thread which received the response of a slow call, or which canceled it. Must
+     * not throw.
+     */
+    void report(SlowCall slowCall);
+  }
+
+  private static final class AssemblySite extends Throwable {
+    private static final long serialVersionUID = 1L;
+
+    AssemblySite() {
+      super("Slow call was created here");
+    }
+  }
+
+  /** Configures a {@link SlowCallDetector}. */
+  public static final class Builder {
+    Duration threshold = Duration.ofSeconds(1);
+    double sampleRate = 0.01;
+    Reporter reporter;
+    Scheduler scheduler;
+
+    /** Calls whose response takes at least {@code threshold} are reported. Defaults to 1 second. */
+    public Builder threshold(Duration threshold) {
+      if (threshold == null) throw new NullPointerException("threshold == null");
+      if (threshold.isNegative()) {
+        throw new IllegalArgumentException("threshold < 0: " + threshold);
+      }
+      this.threshold = threshold;
+      return this;
+    }
+
+    /**
+     * The fraction of calls whose assembly site is captured. Use 1 to capture every call while
+     * debugging. Defaults to 0.01.
+     */
+    public Builder sampleRate(double sampleRate) {
+      if (!(sampleRate >= 0 && sampleRate <= 1)) {
+        throw new IllegalArgumentException("sampleRate must be in [0, 1]: " + sampleRate);
+      }
+      this.sampleRate = sampleRate;
+      return this;
+    }
+
+    public Builder reporter(Reporter reporter) {
+      if (reporter == null) throw new NullPointerException("reporter == null");
+      this.reporter = reporter;
+      return this;
+    }
+
+    /**
+     * The scheduler whose {@linkplain Scheduler#now clock} measures time. Defaults to
+     * {@link System#nanoTime()}.
+     */
+    public Builder scheduler(Scheduler scheduler) {
+      if (scheduler == null) throw new NullPointerException("scheduler == null");
+      this.scheduler = scheduler;
+      return this;
+    }
+
+    public SlowCallDetector build() {
+      if (reporter == null) throw new IllegalStateException("reporter == null");
+      return new SlowCallDetector(this);
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.util.context.Context;
+import retrofit2.Call;
+import retrofit2.Response;
+
+final class SlowCallFlux<T> extends Flux<Response<T>> {
+  private final Publisher<Response<T>> upstream;
+  private final Call<T> call;
+  private final SlowCallDetector detector;
+  private final Throwable assemblySite;
+
+  SlowCallFlux(Publisher<Response<T>> upstream, Call<T> call, SlowCallDetector detector,
+      Throwable assemblySite) {
+    this.upstream = upstream;
+    this.call = call;
+    this.detector = detector;
+    this.assemblySite = assemblySite;
+  }
+
+  @Override public void subscribe(CoreSubscriber<? super Response<T>> subscriber) {
+    upstream.subscribe(new SlowCallSubscriber<>(subscriber, this));
+  }
+
+  private static final class SlowCallSubscriber<R>
+      implements CoreSubscriber<Response<R>>, Subscription {
+    private final CoreSubscriber<? super Response<R>> subscriber;
+    private final SlowCallFlux<R> parent;
+    private final long startNanos;
+    private Subscription subscription;
+    /** Non-zero once the response, failure, or cancellation has been checked. */
+    private volatile int checked;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<SlowCallSubscriber> CHECKED =
+        AtomicIntegerFieldUpdater.newUpdater(SlowCallSubscriber.class, "checked");
+
+    SlowCallSubscriber(CoreSubscriber<? super Response<R>> subscriber, SlowCallFlux<R> parent) {
+      this.subscriber = subscriber;
+      this.parent = parent;
+      this.startNanos = parent.detector.now();
+    }
+
+    @Override public Context currentContext() {
+      return subscriber.currentContext();
+    }
+
+    @Override public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+      subscriber.onSubscribe(this);
+    }
+
+    @Override public void onNext(Response<R> response) {
+      check(false);
+      subscriber.onNext(response);
+    }
+
+    @Override public void onError(Throwable throwable) {
+      check(false);
+      subscriber.onError(throwable);
+    }
+
+    @Override public void onComplete() {
+      subscriber.onComplete();
+    }
+
+    @Override public void request(long n) {
+      subscription.request(n);
+    }
+
+    @Override public void cancel() {
+      // Calls which hang until canceled, such as by a timeout, are the slowest of all.
+      check(true);
+      subscription.cancel();
+    }
+
+    private void check(boolean canceled) {
+      if (CHECKED.compareAndSet(this, 0, 1)) {
+        parent.detector.onResponse(parent.call, startNanos, canceled, parent.assemblySite);
+      }
+    }
+  }
+}
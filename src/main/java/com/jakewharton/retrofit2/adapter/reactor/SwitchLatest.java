@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Cancel an in-flight call to the annotated service method when a newer call with the same key is
+ * subscribed to. The older call fails with {@link CallSupersededException}.
+ * <pre><code>
+ * &#64;SwitchLatest(argument = 0)
+ * &#64;GET("users/{user}/suggestions")
+ * Mono&lt;Suggestions&gt; suggestions(@Path("user") String user, @Query("q") String query);
+ * </code></pre>
+ * The key is the value of the subscriber's {@link ReactorCallAdapterFactory#SWITCH_LATEST_KEY}
+ * context entry if present, otherwise the {@linkplain #argument() argument}. Without either,
+ * every call to the method shares one key.
+ */
+@Documented
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface SwitchLatest {
+  /**
+   * The index of the parameter whose argument is the key, or -1 for none. An index which is not a
+   * parameter of the method fails its first invocation with {@link IllegalArgumentException}.
+   */
+  int argument() default -1;
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Operators;
+import reactor.util.context.Context;
+import retrofit2.Call;
+import retrofit2.Invocation;
+import retrofit2.Response;
+
+/**
+ * Registers each subscriber under its {@link SwitchLatest} key, canceling the subscriber it
+ * replaces.
+ */
+final class SwitchLatestFlux<T> extends Flux<Response<T>> {
+  /** Stands in for a null key since the map does not permit them. */
+  private static final Object NULL_KEY = new Object();
+
+  private final Publisher<Response<T>> upstream;
+  private final Call<T> call;
+  private final int argument;
+  private final ConcurrentMap<Object, SwitchLatestSubscriber<?>> inFlight;
+
+  SwitchLatestFlux(Publisher<Response<T>> upstream, Call<T> call, int argument,
+      ConcurrentMap<Object, SwitchLatestSubscriber<?>> inFlight) {
+    this.upstream = upstream;
+    this.call = call;
+    this.argument = argument;
+    this.inFlight = inFlight;
+  }
+
+  @Override public void subscribe(CoreSubscriber<? super Response<T>> subscriber) {
+    Object key;
+    try {
+      key = key(subscriber.currentContext());
+    } catch (RuntimeException e) {
+      Operators.error(subscriber, e);
+      return;
+    }
+
+    SwitchLatestSubscriber<T> switchSubscriber =
+        new SwitchLatestSubscriber<>(subscriber, key, inFlight);
+    subscriber.onSubscribe(switchSubscriber);
+    if (!switchSubscriber.isActive()) {
+      return; // Canceled from onSubscribe. Nothing to supersede.
+    }
+    SwitchLatestSubscriber<?> previous = inFlight.put(key, switchSubscriber);
+    if (previous != null) {
+      previous.supersede();
+    }
+    if (!switchSubscriber.isActive()) {
+      // Canceled or superseded before it was registered, so it could not remove itself.
+      inFlight.remove(key, switchSubscriber);
+      return;
+    }
+    upstream.subscribe(switchSubscriber);
+  }
+
+  private Object key(Context context) {
+    Object key = context.getOrDefault(ReactorCallAdapterFactory.SWITCH_LATEST_KEY, null);
+    if (key == null && argument != -1) {
+      Invocation invocation = call.request().tag(Invocation.class);
+      if (invocation == null) {
+        throw new IllegalStateException("@SwitchLatest(argument = " + argument
+            + ") requires an Invocation tag on the request");
+      }
+      // The argument was checked against the method's parameters when the call was adapted.
+      key = invocation.arguments().get(argument);
+    }
+    return key != null ? key : NULL_KEY;
+  }
+
+  static final class SwitchLatestSubscriber<R> extends Operators.DeferredSubscription
+      implements CoreSubscriber<Response<R>> {
+    private static final int ACTIVE = 0;
+    private static final int DONE = 1;
+    private static final int SUPERSEDED = 2;
+
+    private final CoreSubscriber<? super Response<R>> subscriber;
+    private final Object key;
+    private final ConcurrentMap<Object, SwitchLatestSubscriber<?>> inFlight;
+    private volatile int state;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<SwitchLatestSubscriber> STATE =
+        AtomicIntegerFieldUpdater.newUpdater(SwitchLatestSubscriber.class, "state");
+
+    SwitchLatestSubscriber(CoreSubscriber<? super Response<R>> subscriber, Object key,
+        ConcurrentMap<Object, SwitchLatestSubscriber<?>> inFlight) {
+      this.subscriber = subscriber;
+      this.key = key;
+      this.inFlight = inFlight;
+    }
+
+    @Override public Context currentContext() {
+      return subscriber.currentContext();
+    }
+
+    @Override public void onSubscribe(Subscription subscription) {
+      set(subscription);
+    }
+
+    @Override public void onNext(Response<R> response) {
+      if (STATE.compareAndSet(this, ACTIVE, DONE)) {
+        inFlight.remove(key, this);
+        subscriber.onNext(response);
+      }
+    }
+
+    @Override public void onError(Throwable throwable) {
+      if (STATE.compareAndSet(this, ACTIVE, DONE)) {
+        inFlight.remove(key, this);
+        subscriber.onError(throwable);
+      }
+      // Otherwise the call failed because it was canceled when superseded. Nothing is listening.
+    }
+
+    @Override public void onComplete() {
+      if (state == DONE) {
+        subscriber.onComplete();
+      } else if (STATE.compareAndSet(this, ACTIVE, DONE)) {
+        inFlight.remove(key, this);
+        subscriber.onComplete();
+      }
+    }
+
+    boolean isActive() {
+      return state == ACTIVE;
+    }
+
+    void supersede() {
+      if (STATE.compareAndSet(this, ACTIVE, SUPERSEDED)) {
+        // Canceling the upstream cancels the cloned call, freeing its dispatcher slot.
+        super.cancel();
+        subscriber.onError(new CallSupersededException());
+      }
+    }
+
+    @Override public void cancel() {
+      if (STATE.compareAndSet(this, ACTIVE, DONE)) {
+        inFlight.remove(key, this);
+      }
+      super.cancel();
+    }
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Cancel calls to the annotated service method which do not complete within a duration of their
+ * subscription, failing them with {@link DeadlineExceededException}. If the subscriber's
+ * {@link reactor.util.context.Context} also has a
+ * {@linkplain ReactorCallAdapterFactory#DEADLINE_KEY deadline} the earlier of the two applies.
+ * <pre><code>
+ * &#64;Timeout(value = 500, unit = MILLISECONDS)
+ * &#64;GET("user/me")
+ * Mono&lt;User&gt; getUser();
+ * </code></pre>
+ */
+@Documented
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface Timeout {
+  long value();
+
+  TimeUnit unit() default TimeUnit.MILLISECONDS;
+}
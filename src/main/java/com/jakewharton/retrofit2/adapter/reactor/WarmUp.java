@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Converter;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Prepares a service before its first real call, so that the calls made right after a deploy are
+ * not slowed by work which is otherwise done lazily.
+ * <pre><code>
+ * WarmUp.warmUp(retrofit, MyService.class, 4).block();
+ * </code></pre>
+ */
+public final class WarmUp {
+  /** Enough invocations for the JIT to compile the adapter's hot paths. */
+  private static final int ITERATIONS = 10_000;
+  /** Long enough that no synthetic call reaches its deadline. */
+  private static final long DEADLINE_MILLIS = 60_000;
+
+  private static final Converter<ResponseBody, Object> DISCARD = body -> {
+    body.close();
+    return null;
+  };
+
+  /**
+   * Returns a Mono which warms up {@code service} when subscribed and completes once it is done.
+   * <ol>
+   * <li>The call adapter and converters of every method of {@code service} which returns
+   * {@code Flux} or {@code Mono} are resolved and cached by {@code retrofit}, as they would be by
+   * the method's first call. Invalid methods fail the Mono with Retrofit's exception. Methods
+   * which return any other type only have their call adapter resolved, since invoking them may
+   * send a request.</li>
+   * <li>The stream operators which back this adapter's {@code Flux} and {@code Mono} types run
+   * with synthetic calls until the JIT compiles them. Nothing is sent, and configured behaviors
+   * such as rate limiters and event listeners see none of these calls.</li>
+   * <li>{@code connections} {@code HEAD} requests to {@linkplain Retrofit#baseUrl() the base URL}
+   * are sent at once, leaving up to that many connections in the call factory's pool. OkHttp's
+   * {@link okhttp3.Dispatcher} runs at most 5 calls per host by default, which also bounds the
+   * connections opened. The Mono fails if a request fails, but not for unsuccessful responses.
+   * </li>
+   * </ol>
+   */
+  public static Mono<Void> warmUp(Retrofit retrofit, Class<?> service, int connections) {
+    if (retrofit == null) throw new NullPointerException("retrofit == null");
+    if (service == null) throw new NullPointerException("service == null");
+    if (connections < 0) throw new IllegalArgumentException("connections < 0: " + connections);
+    return Mono.<Void>fromRunnable(() -> {
+      resolveServiceMethods(retrofit, service);
+      exerciseOperators();
+    }).then(openConnections(retrofit, connections));
+  }
+
+  /**
+   * Invokes every {@code Flux} and {@code Mono} method of a proxy, which loads and caches each
+   * method's adapter. Other adapters, like those for {@code CompletableFuture}, may send the call
+   * as soon as the method is invoked, so their methods are not invoked.
+   */
+  private static void resolveServiceMethods(Retrofit retrofit, Class<?> service) {
+    Object proxy = retrofit.create(service);
+    for (Method method : service.getDeclaredMethods()) {
+      if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+        continue;
+      }
+      Class<?> returnType = method.getReturnType();
+      if (returnType != Flux.class && returnType != Mono.class) {
+        retrofit.callAdapter(method.getGenericReturnType(), method.getAnnotations());
+        continue;
+      }
+      // The request is not created until the call is executed, so any arguments will do.
+      Class<?>[] parameterTypes = method.getParameterTypes();
+      Object[] args = new Object[parameterTypes.length];
+      for (int i = 0; i < args.length; i++) {
+        if (parameterTypes[i].isPrimitive()) {
+          args[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+        }
+      }
+      try {
+        method.invoke(proxy, args);
+      } catch (IllegalAccessException e) {
+        throw new AssertionError(e);
+      } catch (InvocationTargetException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+        if (cause instanceof Error) throw (Error) cause;
+        throw new RuntimeException(cause);
+      }
+    }
+  }
+
+  private static void exerciseOperators() {
+    Call<Object> success = new SyntheticCall(Response.success(new Object()));
+    Call<Object> failure =
+        new SyntheticCall(Response.error(404, ResponseBody.create(null, new byte[0])));
+    for (int i = 0; i < ITERATIONS; i++) {
+      new BodyFlux<>(new CallExecuteFlux<>(success, false, BlockingCallPolicy.ALLOW), false)
+          .single()
+          .subscribe();
+      new ResultFlux<>(new CallEnqueueFlux<>(failure, null, false), false)
+          .subscribe();
+      new BodyFlux<>(new CallEnqueueFlux<>(failure, null, false), false)
+          .subscribe(value -> {}, error -> {});
+      // Schedules and disposes a timer, as a call with a deadline or @Timeout does.
+      new BodyFlux<>(new DeadlineFlux<>(
+          new CallExecuteFlux<>(success, false, BlockingCallPolicy.ALLOW),
+          Schedulers.parallel(), DEADLINE_MILLIS, false), false)
+          .subscribe();
+    }
+  }
+
+  private static Mono<Void> openConnections(Retrofit retrofit, int connections) {
+    if (connections == 0) {
+      return Mono.empty();
+    }
+    Request request = new Request.Builder().url(retrofit.baseUrl()).head().build();
+    return Flux.range(0, connections)
+        .flatMap(i -> RawResponses.send(retrofit.callFactory(), request, DISCARD), connections)
+        .then();
+  }
+
+  /** A call which completes immediately with a canned response. */
+  private static final class SyntheticCall implements Call<Object> {
+    private static final Request REQUEST = new Request.Builder().url("http://localhost/").build();
+
+    private final Response<Object> response;
+
+    SyntheticCall(Response<Object> response) {
+      this.response = response;
+    }
+
+    @Override public Response<Object> execute() {
+      return response;
+    }
+
+    @Override public void enqueue(Callback<Object> callback) {
+      callback.onResponse(this, response);
+    }
+
+    @Override public boolean isExecuted() {
+      return false;
+    }
+
+    @Override public void cancel() {
+    }
+
+    @Override public boolean isCanceled() {
+      return false;
+    }
+
+    @Override public Call<Object> clone() {
+      return this; // Stateless.
+    }
+
+    @Override public Request request() {
+      return REQUEST;
+    }
+  }
+
+  private WarmUp() {
+    throw new AssertionError();
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import okhttp3.ResponseBody;
+import reactor.core.publisher.Mono;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+/**
+ * Measures the time until the first call of a small service completes in a new process. Run it on
+ * the JVM with {@code ./gradlew startupBenchmark}, or build a native image with
+ * {@code ./gradlew startupNativeImage} and run {@code build/startup/startup-benchmark}.
+ * <p>
+ * The server is a plain socket on a background thread so that only Retrofit, OkHttp, Reactor, and
+ * this adapter contribute to the measurement.
+ */
+public final class StartupBenchmark {
+  interface Service {
+    @GET("/") Mono<ResponseBody> body();
+  }
+
+  public static void main(String... args) throws IOException {
+    long mainStart = System.nanoTime();
+
+    ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    Thread server = new Thread(() -> serve(serverSocket), "StartupBenchmark server");
+    server.setDaemon(true);
+    server.start();
+
+    Retrofit retrofit = new Retrofit.Builder()
+        .baseUrl("http://localhost:" + serverSocket.getLocalPort())
+        .addCallAdapterFactory(ReactorCallAdapterFactory.create())
+        .build();
+    Service service = retrofit.create(Service.class);
+
+    call(service);
+    long firstCall = System.nanoTime();
+    // Includes the time the JVM or native image took to reach main.
+    long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+
+    long secondCallStart = System.nanoTime();
+    call(service);
+    long secondCall = System.nanoTime();
+
+    System.out.println("Process uptime at first call: " + uptime + " ms");
+    System.out.println("Time to first call from main: " + millis(firstCall - mainStart) + " ms");
+    System.out.println("Second call: " + millis(secondCall - secondCallStart) + " ms");
+    serverSocket.close();
+  }
+
+  private static void call(Service service) {
+    ResponseBody body = service.body().block(Duration.ofSeconds(10));
+    if (body == null) throw new AssertionError("No body");
+    body.close();
+  }
+
+  private static long millis(long nanos) {
+    return nanos / 1_000_000;
+  }
+
+  /** Answers every request on every connection with a tiny response. */
+  private static void serve(ServerSocket serverSocket) {
+    byte[] response = ("HTTP/1.1 200 OK\r\n"
+        + "Content-Length: 2\r\n"
+        + "\r\n"
+        + "Hi").getBytes(StandardCharsets.US_ASCII);
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        Thread connection = new Thread(() -> {
+          try (Socket s = socket) {
+            BufferedReader reader = new BufferedReader(
+                new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream out = s.getOutputStream();
+            String line;
+            while ((line = reader.readLine()) != null) {
+              if (line.isEmpty()) {
+                out.write(response);
+                out.flush();
+              }
+            }
+          } catch (IOException ignored) {
+          }
+        }, "StartupBenchmark connection");
+        connection.setDaemon(true);
+        connection.start();
+      } catch (IOException ignored) {
+        // The server socket was closed.
+      }
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.util.concurrent.CountDownLatch;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import retrofit2.http.GET;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.fail;
+
+public final class AdaptiveTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+  @Rule public final RecordingSubscriber.Rule subscriberRule = new RecordingSubscriber.Rule();
+
+  interface Service {
+    @GET("/") Mono<String> body();
+  }
+
+  private final TestScheduler scheduler = new TestScheduler();
+  private Service service;
+
+  @Before public void setUp() {
+    service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.createAdaptive(scheduler));
+  }
+
+  @Test public void nullSchedulerThrows() {
+    try {
+      ReactorCallAdapterFactory.createAdaptive(null);
+      fail();
+    } catch (NullPointerException e) {
+      assertThat(e).hasMessageThat().isEqualTo("scheduler == null");
+    }
+  }
+
+  @Test public void blockingThreadExecutesInline() {
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    RecordingSubscriber<String> subscriber = subscriberRule.create();
+    service.body().subscribe(subscriber);
+    subscriber.assertValue("Hi").assertComplete();
+  }
+
+  @Test public void nonBlockingThreadOffloads() throws InterruptedException {
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    RecordingSubscriber<String> subscriber = subscriberRule.create();
+    CountDownLatch subscribed = new CountDownLatch(1);
+    Schedulers.parallel().schedule(() -> {
+      service.body().subscribe(subscriber);
+      subscribed.countDown();
+    });
+    assertThat(subscribed.await(5, SECONDS)).isTrue();
+    subscriber.assertNoEvents();
+
+    scheduler.triggerActions();
+    subscriber.assertValue("Hi").assertComplete();
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import okhttp3.Request;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Fails when adapting and subscribing to a call allocates more than it used to. The call itself is
+ * a fake which does not allocate so that only the adapter's own allocations are measured.
+ * <p>
+ * Limits are 64 bytes, a few small objects, above what Java 8, 17, and 21 measure with compressed
+ * object pointers, which leaves room for differences between JVMs without hiding a new operator.
+ * The test is skipped on JVMs without compressed object pointers where every object is larger.
+ * When an optimization lowers a measurement, lower its limit to match. Do not raise a limit to
+ * accommodate a regression.
+ */
+public final class AllocationTest {
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+
+  private static final int WARMUP_ITERATIONS = 20_000;
+  private static final int ITERATIONS = 10_000;
+
+  interface Service {
+    Flux<String> fluxBody();
+    Flux<Response<String>> fluxResponse();
+    Flux<Result<String>> fluxResult();
+    Mono<String> monoBody();
+    Mono<Response<String>> monoResponse();
+    Mono<Result<String>> monoResult();
+  }
+
+  private final Retrofit retrofit = new Retrofit.Builder()
+      .baseUrl("http://example.com/")
+      .build();
+  private final ReusableCall call = new ReusableCall();
+  private final DiscardingSubscriber subscriber = new DiscardingSubscriber();
+  private com.sun.management.ThreadMXBean threads;
+
+  @Before public void setUp() {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+    HotSpotDiagnosticMXBean diagnostics =
+        ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+    assumeTrue(diagnostics != null
+        && "true".equals(diagnostics.getVMOption("UseCompressedOops").getValue()));
+  }
+
+  @Test public void synchronous() throws NoSuchMethodException {
+    ReactorCallAdapterFactory factory = ReactorCallAdapterFactory.create();
+    assertAllocatesAtMost(factory, "fluxBody", 168);
+    assertAllocatesAtMost(factory, "fluxResponse", 120);
+    assertAllocatesAtMost(factory, "fluxResult", 192);
+    assertAllocatesAtMost(factory, "monoBody", 232);
+    assertAllocatesAtMost(factory, "monoResponse", 184);
+    assertAllocatesAtMost(factory, "monoResult", 256);
+  }
+
+  @Test public void asynchronous() throws NoSuchMethodException {
+    ReactorCallAdapterFactory factory = ReactorCallAdapterFactory.createAsync();
+    assertAllocatesAtMost(factory, "fluxBody", 176);
+    assertAllocatesAtMost(factory, "fluxResponse", 128);
+    assertAllocatesAtMost(factory, "fluxResult", 200);
+    assertAllocatesAtMost(factory, "monoBody", 240);
+    assertAllocatesAtMost(factory, "monoResponse", 192);
+    assertAllocatesAtMost(factory, "monoResult", 264);
+  }
+
+  private void assertAllocatesAtMost(ReactorCallAdapterFactory factory, String methodName,
+      long limit) throws NoSuchMethodException {
+    Method method = Service.class.getMethod(methodName);
+    @SuppressWarnings("unchecked") // Every service method returns a stream of strings.
+    CallAdapter<String, Publisher<Object>> adapter = (CallAdapter<String, Publisher<Object>>)
+        factory.get(method.getGenericReturnType(), new Annotation[0], retrofit);
+
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      adapter.adapt(call).subscribe(subscriber);
+    }
+    long threadId = Thread.currentThread().getId();
+    long before = threads.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < ITERATIONS; i++) {
+      adapter.adapt(call).subscribe(subscriber);
+    }
+    long bytesPerCall = (threads.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+
+    assertThat(subscriber.completions).isEqualTo(WARMUP_ITERATIONS + ITERATIONS);
+    subscriber.completions = 0;
+    assertThat(bytesPerCall).named(methodName + " bytes per call").isAtMost(limit);
+  }
+
+  /** Completes immediately with the same response every time. */
+  static final class ReusableCall implements Call<String> {
+    private final Response<String> response = Response.success("Hi");
+    private final Request request = new Request.Builder().url("http://example.com/").build();
+
+    @Override public Response<String> execute() throws IOException {
+      return response;
+    }
+
+    @Override public void enqueue(Callback<String> callback) {
+      callback.onResponse(this, response);
+    }
+
+    @Override public boolean isExecuted() {
+      return false;
+    }
+
+    @Override public void cancel() {
+    }
+
+    @Override public boolean isCanceled() {
+      return false;
+    }
+
+    @Override public Call<String> clone() {
+      return this;
+    }
+
+    @Override public Request request() {
+      return request;
+    }
+  }
+
+  static final class DiscardingSubscriber implements CoreSubscriber<Object> {
+    int completions;
+
+    @Override public void onSubscribe(Subscription subscription) {
+      subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override public void onNext(Object value) {
+    }
+
+    @Override public void onError(Throwable throwable) {
+      throw new AssertionError(throwable);
+    }
+
+    @Override public void onComplete() {
+      completions++;
+    }
+  }
+}
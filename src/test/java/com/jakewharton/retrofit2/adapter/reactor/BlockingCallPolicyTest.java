@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import retrofit2.http.GET;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public final class BlockingCallPolicyTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+
+  interface Service {
+    @GET("/") Mono<String> body();
+  }
+
+  private Service createService(BlockingCallPolicy policy) {
+    return createService(ReactorCallAdapterFactory.create(), policy);
+  }
+
+  private Service createService(ReactorCallAdapterFactory factory, BlockingCallPolicy policy) {
+    return TestServices.create(Service.class, server,
+        factory.newBuilder().blockingCallPolicy(policy).build());
+  }
+
+  /** Subscribes to {@code mono} from a thread which must not block and waits for its value. */
+  private static <T> T subscribeOnParallel(Mono<T> mono) {
+    return mono.subscribeOn(Schedulers.parallel()).block(Duration.ofSeconds(5));
+  }
+
+  @Test public void nullPolicyThrows() {
+    try {
+      ReactorCallAdapterFactory.create().newBuilder().blockingCallPolicy(null);
+      fail();
+    } catch (NullPointerException e) {
+      assertThat(e).hasMessageThat().isEqualTo("blockingCallPolicy == null");
+    }
+  }
+
+  @Test public void asyncFactoryRejectsPolicy() {
+    try {
+      ReactorCallAdapterFactory.createAsync().newBuilder()
+          .blockingCallPolicy(BlockingCallPolicy.FAIL)
+          .build();
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessageThat()
+          .isEqualTo("blockingCallPolicy requires a synchronous factory");
+    }
+  }
+
+  @Test public void allowExecutesOnNonBlockingThread() {
+    Service service = createService(BlockingCallPolicy.ALLOW);
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    String thread =
+        subscribeOnParallel(service.body().map(body -> Thread.currentThread().getName()));
+    assertThat(thread).startsWith("parallel-");
+  }
+
+  @Test public void failOnNonBlockingThread() {
+    Service service = createService(BlockingCallPolicy.FAIL);
+
+    try {
+      subscribeOnParallel(service.body());
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessageThat().startsWith("Synchronous call to "
+          + Service.class.getName() + ".body blocks non-blocking thread parallel-");
+    }
+    assertThat(server.getRequestCount()).isEqualTo(0);
+  }
+
+  @Test public void failExecutesOnBlockingThread() {
+    Service service = createService(BlockingCallPolicy.FAIL);
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    assertThat(service.body().block(Duration.ofSeconds(5))).isEqualTo("Hi");
+  }
+
+  @Test public void logOnNonBlockingThread() {
+    Service service = createService(BlockingCallPolicy.LOG);
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    List<LogRecord> records = new ArrayList<>();
+    Handler handler = new Handler() {
+      @Override public synchronized void publish(LogRecord record) {
+        records.add(record);
+      }
+
+      @Override public void flush() {
+      }
+
+      @Override public void close() {
+      }
+    };
+    Logger logger = Logger.getLogger(ReactorCallAdapterFactory.class.getName());
+    logger.addHandler(handler);
+    try {
+      assertThat(subscribeOnParallel(service.body())).isEqualTo("Hi");
+    } finally {
+      logger.removeHandler(handler);
+    }
+
+    synchronized (handler) {
+      assertThat(records).hasSize(1);
+      assertThat(records.get(0).getMessage()).startsWith("Synchronous call to "
+          + Service.class.getName() + ".body blocks non-blocking thread parallel-");
+    }
+  }
+
+  @Test public void offloadFromNonBlockingThread() {
+    Service service = createService(BlockingCallPolicy.OFFLOAD);
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    String thread =
+        subscribeOnParallel(service.body().map(body -> Thread.currentThread().getName()));
+    assertThat(thread).startsWith("elastic-");
+  }
+
+  @Test public void offloadExecutesInlineOnBlockingThread() {
+    Service service = createService(BlockingCallPolicy.OFFLOAD);
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    Thread thread = service.body().map(body -> Thread.currentThread()).block(Duration.ofSeconds(5));
+    assertThat(thread).isSameAs(Thread.currentThread());
+  }
+
+  @Test public void offloadAfterSchedulerWhichMustNotBlock() {
+    Service service = createService(
+        ReactorCallAdapterFactory.createWithScheduler(Schedulers.parallel()),
+        BlockingCallPolicy.OFFLOAD);
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    String thread = service.body()
+        .map(body -> Thread.currentThread().getName())
+        .block(Duration.ofSeconds(5));
+    assertThat(thread).startsWith("elastic-");
+  }
+
+  @Test public void offloadKeepsAdaptiveScheduler() {
+    Scheduler scheduler = Schedulers.newElastic("adaptive");
+    try {
+      Service service = createService(ReactorCallAdapterFactory.createAdaptive(scheduler),
+          BlockingCallPolicy.OFFLOAD);
+      server.enqueue(new MockResponse().setBody("Hi"));
+
+      String thread =
+          subscribeOnParallel(service.body().map(body -> Thread.currentThread().getName()));
+      assertThat(thread).startsWith("adaptive-");
+    } finally {
+      scheduler.dispose();
+    }
+  }
+}
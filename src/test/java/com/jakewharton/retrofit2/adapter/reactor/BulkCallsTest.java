@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.publisher.Flux;
+import retrofit2.Call;
+import retrofit2.http.GET;
+import retrofit2.http.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static okhttp3.mockwebserver.SocketPolicy.DISCONNECT_AFTER_REQUEST;
+import static org.junit.Assert.fail;
+
+public final class BulkCallsTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+
+  interface Service {
+    @GET("/{id}") Call<String> item(@Path("id") int id);
+  }
+
+  private final AtomicInteger active = new AtomicInteger();
+  private final AtomicInteger maxActive = new AtomicInteger();
+  private final Dispatcher dispatcher = new Dispatcher();
+  private Service service;
+
+  @Before public void setUp() {
+    dispatcher.setMaxRequestsPerHost(64);
+    service = TestServices.retrofit(server)
+        .client(new OkHttpClient.Builder().dispatcher(dispatcher).build())
+        .build()
+        .create(Service.class);
+
+    // Responds with the requested id after a delay which shrinks as the id grows, so that later
+    // calls tend to finish first.
+    server.setDispatcher(new okhttp3.mockwebserver.Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+        int now = active.incrementAndGet();
+        maxActive.accumulateAndGet(now, Math::max);
+        try {
+          String id = request.getPath().substring(1);
+          if (id.equals("404")) {
+            return new MockResponse().setResponseCode(404);
+          }
+          if (id.equals("500")) {
+            return new MockResponse().setSocketPolicy(DISCONNECT_AFTER_REQUEST);
+          }
+          Thread.sleep(Math.max(0, 50 - Integer.parseInt(id) * 5));
+          return new MockResponse().setBody(id);
+        } finally {
+          active.decrementAndGet();
+        }
+      }
+    });
+  }
+
+  @Test public void resultsAreInOrder() {
+    List<Result<String>> results =
+        BulkCalls.executeAll(Flux.range(0, 20), service::item, 4)
+            .collectList()
+            .block(Duration.ofSeconds(10));
+    assertThat(results).hasSize(20);
+    for (int i = 0; i < 20; i++) {
+      assertThat(results.get(i).response().body()).isEqualTo(String.valueOf(i));
+    }
+  }
+
+  @Test public void concurrencyIsBounded() {
+    BulkCalls.executeAll(Flux.range(0, 30), service::item, 3)
+        .blockLast(Duration.ofSeconds(10));
+    assertThat(maxActive.get()).isAtMost(3);
+    assertThat(server.getRequestCount()).isEqualTo(30);
+  }
+
+  @Test public void failuresAreReportedPerItem() {
+    List<Result<String>> results =
+        BulkCalls.executeAll(Flux.just(1, 404, 500, 2), service::item, 2)
+            .collectList()
+            .block(Duration.ofSeconds(10));
+    assertThat(results.get(0).response().body()).isEqualTo("1");
+    assertThat(results.get(1).response().code()).isEqualTo(404);
+    assertThat(results.get(2).isError()).isTrue();
+    assertThat(results.get(3).response().body()).isEqualTo("2");
+  }
+
+  @Test public void callsAreCloned() {
+    Call<String> call = service.item(7);
+    List<Result<String>> results = BulkCalls.executeAll(Flux.just(call, call), 2)
+        .collectList()
+        .block(Duration.ofSeconds(10));
+    assertThat(results).hasSize(2);
+    assertThat(results.get(1).response().body()).isEqualTo("7");
+    assertThat(call.isExecuted()).isFalse();
+  }
+
+  @Test public void cancelStopsRemainingCalls() throws InterruptedException {
+    AtomicInteger created = new AtomicInteger();
+    Function<Integer, Call<String>> item = id -> {
+      created.incrementAndGet();
+      return service.item(id);
+    };
+    BulkCalls.executeAll(Flux.range(0, 100), item, 2)
+        .take(3)
+        .blockLast(Duration.ofSeconds(10));
+
+    // Wait for the calls which were in flight when the stream was canceled to finish.
+    CountDownLatch idle = new CountDownLatch(1);
+    dispatcher.setIdleCallback(idle::countDown);
+    if (dispatcher.runningCallsCount() > 0) {
+      assertThat(idle.await(5, SECONDS)).isTrue();
+    }
+    assertThat(created.get()).isAtMost(5);
+  }
+
+  @Test public void concurrencyMustBePositive() {
+    try {
+      BulkCalls.executeAll(Flux.<Call<String>>empty(), 0);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessageThat().isEqualTo("concurrency < 1: 0");
+    }
+  }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import retrofit2.Call;
+import retrofit2.Response;
+import retrofit2.http.GET;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static okhttp3.mockwebserver.SocketPolicy.DISCONNECT_AFTER_REQUEST;
+import static okhttp3.mockwebserver.SocketPolicy.NO_RESPONSE;
+
+public final class CallEventListenerTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+  @Rule public final RecordingSubscriber.Rule subscriberRule = new RecordingSubscriber.Rule();
+
+  interface Service {
+    @GET("/") Mono<String> body();
+    @GET("/") Mono<Response<String>> response();
+    @GET("/") Mono<Result<String>> result();
+  }
+
+  private final RecordingEventListener listener = new RecordingEventListener();
+
+  @Test public void bodySuccess() {
+    Service service = TestServices.create(Service.class, server,
+        
+            ReactorCallAdapterFactory.create().newBuilder().eventListener(listener).build());
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    RecordingSubscriber<String> subscriber = subscriberRule.create();
+    service.body().subscribe(subscriber);
+    subscriber.assertValue("Hi").assertComplete();
+    assertThat(listener.events).containsExactly("callSubscribed body", "callCloned body",
+        "callStart body", "responseReceived body", "bodyEmitted body", "callEnd body").inOrder();
+  }
+
+  @Test public void bodyHttpError() {
+    Service service = TestServices.create(Service.class, server,
+        
+            ReactorCallAdapterFactory.create().newBuilder().eventListener(listener).build());
+    server.enqueue(new MockResponse().setResponseCode(404));
+
+    RecordingSubscriber<String> subscriber = subscriberRule.create();
+    service.body().subscribe(subscriber);
+    subscriber.assertError(retrofit2.HttpException.class);
+    assertThat(listener.events).containsExactly("callSubscribed body", "callCloned body",
+        "callStart body", "responseReceived body", "callFailed body").inOrder();
+  }
+
+  @Test public void responseAsync() throws InterruptedException {
+    Service service = TestServices.create(Service.class, server,
+        
+            ReactorCallAdapterFactory.createAsync().newBuilder().eventListener(listener).build());
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    StepVerifier.create(service.response())
+        .expectNextCount(1)
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+    // The terminal event is reported after the subscriber is notified on the dispatcher thread.
+    listener.awaitTerminated();
+    assertThat(listener.events).containsExactly("callSubscribed response",
+        "callCloned response", "callStart response", "responseReceived response",
+        "callEnd response").inOrder();
+  }
+
+  @Test public void resultFailure() {
+    Service service = TestServices.create(Service.class, server,
+        
+            ReactorCallAdapterFactory.create().newBuilder().eventListener(listener).build());
+    server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AFTER_REQUEST));
+
+    RecordingSubscriber<Result<String>> subscriber = subscriberRule.create();
+    service.result().subscribe(subscriber);
+    assertThat(subscriber.takeValue().isError()).isTrue();
+    subscriber.assertComplete();
+    assertThat(listener.events).containsExactly("callSubscribed result", "callCloned result",
+        "callStart result", "resultEmitted result", "callEnd result").inOrder();
+  }
+
+  @Test public void cancel() throws InterruptedException {
+    Service service = TestServices.create(Service.class, server,
+        
+            ReactorCallAdapterFactory.createAsync().newBuilder().eventListener(listener).build());
+    server.enqueue(new MockResponse().setSocketPolicy(NO_RESPONSE));
+
+    Disposable disposable = service.body().subscribe();
+    server.takeRequest(5, SECONDS);
+    disposable.dispose();
+    assertThat(listener.events).containsExactly("callSubscribed body", "callCloned body",
+        "callStart body", "callCanceled body").inOrder();
+  }
+
+  @Test public void circuitBreakerRejectionSkipsCall() {
+    CircuitBreaker circuitBreaker = new CircuitBreaker.Builder()
+        .windowSize(1)
+        .minimumCalls(1)
+        .halfOpenCalls(1)
+        .build();
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .circuitBreaker(circuitBreaker)
+            .eventListener(listener)
+            .build());
+    server.enqueue(new MockResponse().setResponseCode(500));
+
+    service.response().block();
+    listener.events.clear();
+    RecordingSubscriber<Response<String>> subscriber = subscriberRule.create();
+    service.response().subscribe(subscriber);
+    subscriber.assertError(CircuitBreakerOpenException.class);
+    assertThat(listener.events)
+        .containsExactly("callSubscribed response", "callFailed response").inOrder();
+  }
+
+  @Test public void factoryCreatesListenerPerSubscription() {
+    AtomicInteger created = new AtomicInteger();
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .eventListenerFactory(method -> {
+              created.incrementAndGet();
+              return CallEventListener.NONE;
+            })
+            .build());
+    server.enqueue(new MockResponse().setBody("Hi"));
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    Mono<String> body = service.body();
+    assertThat(created.get()).isEqualTo(0);
+    body.block();
+    body.block();
+    assertThat(created.get()).isEqualTo(2);
+  }
+
+  @Test public void listenersAreAdditive() {
+    RecordingEventListener other = new RecordingEventListener();
+    LatencyMetrics metrics = new LatencyMetrics();
+    Service service = TestServices.create(Service.class, server, ReactorCallAdapterFactory.create()
+        .newBuilder()
+        .eventListener(listener)
+        .eventListenerFactory(metrics)
+        .eventListener(other)
+        .build());
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    service.body().block();
+    List<String> expected = Arrays.asList("callSubscribed body", "callCloned body",
+        "callStart body", "responseReceived body", "bodyEmitted body", "callEnd body");
+    assertThat(listener.events).containsExactlyElementsIn(expected).inOrder();
+    assertThat(other.events).containsExactlyElementsIn(expected).inOrder();
+    assertThat(metrics.latencies()).hasSize(1);
+  }
+
+  @Test public void newBuilderKeepsListeners() {
+    RecordingEventListener other = new RecordingEventListener();
+    ReactorCallAdapterFactory factory =
+        ReactorCallAdapterFactory.create().newBuilder().eventListener(listener).build();
+    Service service = TestServices.create(Service.class, server,
+        factory.newBuilder().eventListener(other).build());
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    service.body().block();
+    assertThat(listener.events).hasSize(6);
+    assertThat(other.events).hasSize(6);
+  }
+
+  static final class RecordingEventListener extends CallEventListener {
+    final List<String> events = new CopyOnWriteArrayList<>();
+
+    final CountDownLatch terminated = new CountDownLatch(1);
+
+    void awaitTerminated() throws InterruptedException {
+      assertThat(terminated.await(5, SECONDS)).isTrue();
+    }
+
+    private void record(String event, Method method) {
+      events.add(event + " " + method.getName());
+    }
+
+    @Override public void callSubscribed(Method method, long nanoTime) {
+      record("callSubscribed", method);
+    }
+
+    @Override public void callCloned(Method method, Call<?> call, long nanoTime) {
+      record("callCloned", method);
+    }
+
+    @Override public void callStart(Method method, Call<?> call, long nanoTime) {
+      record("callStart", method);
+    }
+
+    @Override public void responseReceived(Method method, Response<?> response, long nanoTime) {
+      record("responseReceived", method);
+    }
+
+    @Override public void bodyEmitted(Method method, long nanoTime) {
+      record("bodyEmitted", method);
+    }
+
+    @Override public void resultEmitted(Method method, Result<?> result, long nanoTime) {
+      record("resultEmitted", method);
+    }
+
+    @Override public void callEnd(Method method, long nanoTime) {
+      record("callEnd", method);
+      terminated.countDown();
+    }
+
+    @Override public void callFailed(Method method, Throwable throwable, long nanoTime) {
+      record("callFailed", method);
+      terminated.countDown();
+    }
+
+    @Override public void callCanceled(Method method, long nanoTime) {
+      record("callCanceled", method);
+      terminated.countDown();
+    }
+  }
+}
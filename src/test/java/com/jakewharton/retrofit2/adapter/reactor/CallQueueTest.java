@@ -0,0 +1,337 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.scheduler.VirtualTimeScheduler;
+import reactor.util.context.Context;
+import retrofit2.http.GET;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+public final class CallQueueTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+  @Rule public final RecordingSubscriber.Rule subscriberRule = new RecordingSubscriber.Rule();
+
+  interface Service {
+    @GET("/first") Mono<String> first();
+    @GET("/low") Mono<String> low();
+    @CallPriority(5) @GET("/high") Mono<String> high();
+    @GET("/a") Mono<String> a();
+    @GET("/b") Mono<String> b();
+  }
+
+  private final TestScheduler scheduler = new TestScheduler();
+  private final VirtualTimeScheduler clock = VirtualTimeScheduler.create();
+
+  @After public void tearDown() {
+    clock.dispose();
+  }
+
+  private Service createService(CallQueue callQueue) {
+    return TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.createWithScheduler(scheduler)
+            .newBuilder()
+            .callQueue(callQueue)
+            .build());
+  }
+
+  private CallQueue.Builder callQueueBuilder() {
+    return new CallQueue.Builder()
+        .maxConcurrentCalls(1)
+        .scheduler(clock);
+  }
+
+  private void enqueueResponses(int count) {
+    for (int i = 0; i < count; i++) {
+      server.enqueue(new MockResponse().setBody("Hi"));
+    }
+  }
+
+  private void assertRequestOrder(String... paths) throws InterruptedException {
+    for (String path : paths) {
+      assertThat(server.takeRequest().getPath()).isEqualTo(path);
+    }
+  }
+
+  @Test public void limitsConcurrentCalls() {
+    CallQueue callQueue = callQueueBuilder().maxConcurrentCalls(2).build();
+    Service service = createService(callQueue);
+    enqueueResponses(3);
+
+    RecordingSubscriber<String> first = subscriberRule.create();
+    service.first().subscribe(first);
+    RecordingSubscriber<String> second = subscriberRule.create();
+    service.first().subscribe(second);
+    RecordingSubscriber<String> third = subscriberRule.create();
+    service.first().subscribe(third);
+    assertThat(callQueue.runningCallsCount()).isEqualTo(2);
+    assertThat(callQueue.queuedCallsCount()).isEqualTo(1);
+
+    scheduler.triggerActions();
+    first.assertValue("Hi").assertComplete();
+    second.assertValue("Hi").assertComplete();
+    third.assertValue("Hi").assertComplete();
+    assertThat(callQueue.runningCallsCount()).isEqualTo(0);
+    assertThat(callQueue.queuedCallsCount()).isEqualTo(0);
+  }
+
+  @Test public void higherPriorityStartsFirst() throws InterruptedException {
+    Service service = createService(callQueueBuilder().build());
+    enqueueResponses(3);
+
+    RecordingSubscriber<String> first = subscriberRule.create();
+    service.first().subscribe(first);
+    RecordingSubscriber<String> low = subscriberRule.create();
+    service.low().subscribe(low);
+    RecordingSubscriber<String> high = subscriberRule.create();
+    service.high().subscribe(high);
+
+    scheduler.triggerActions();
+    first.assertValue("Hi").assertComplete();
+    low.assertValue("Hi").assertComplete();
+    high.assertValue("Hi").assertComplete();
+    assertRequestOrder("/first", "/high", "/low");
+  }
+
+  @Test public void contextPriorityOverridesAnnotation() throws InterruptedException {
+    Service service = createService(callQueueBuilder().build());
+    enqueueResponses(3);
+
+    RecordingSubscriber<String> first = subscriberRule.create();
+    service.first().subscribe(first);
+    RecordingSubscriber<String> high = subscriberRule.create();
+    service.high().subscribe(high);
+    RecordingSubscriber<String> low = subscriberRule.create();
+    service.low().subscriberContext(Context.of(CallQueue.PRIORITY_KEY, 10)).subscribe(low);
+
+    scheduler.triggerActions();
+    first.assertValue("Hi").assertComplete();
+    high.assertValue("Hi").assertComplete();
+    low.assertValue("Hi").assertComplete();
+    assertRequestOrder("/first", "/low", "/high");
+  }
+
+  @Test public void waitingCallsAgeToAvoidStarvation() throws InterruptedException {
+    CallQueue callQueue = callQueueBuilder().agingInterval(Duration.ofSeconds(1)).build();
+    Service service = createService(callQueue);
+    enqueueResponses(3);
+
+    RecordingSubscriber<String> first = subscriberRule.create();
+    service.first().subscribe(first);
+    RecordingSubscriber<String> low = subscriberRule.create();
+    service.low().subscribe(low);
+    clock.advanceTimeBy(Duration.ofSeconds(6));
+    RecordingSubscriber<String> high = subscriberRule.create();
+    service.high().subscribe(high);
+
+    scheduler.triggerActions();
+    first.assertValue("Hi").assertComplete();
+    low.assertValue("Hi").assertComplete();
+    high.assertValue("Hi").assertComplete();
+    assertRequestOrder("/first", "/low", "/high");
+  }
+
+  @Test public void canceledWhileQueuedIsRemoved() {
+    CallQueue callQueue = callQueueBuilder().build();
+    Service service = createService(callQueue);
+    enqueueResponses(1);
+
+    RecordingSubscriber<String> first = subscriberRule.create();
+    service.first().subscribe(first);
+    Disposable queued = service.low().subscribe();
+    assertThat(callQueue.queuedCallsCount()).isEqualTo(1);
+
+    queued.dispose();
+    assertThat(callQueue.queuedCallsCount()).isEqualTo(0);
+
+    scheduler.triggerActions();
+    first.assertValue("Hi").assertComplete();
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test public void canceledWhileRunningReleasesSlot() {
+    CallQueue callQueue = callQueueBuilder().build();
+    Service service = createService(callQueue);
+    enqueueResponses(1);
+
+    Disposable running = service.first().subscribe();
+    RecordingSubscriber<String> low = subscriberRule.create();
+    service.low().subscribe(low);
+    assertThat(callQueue.runningCallsCount()).isEqualTo(1);
+    assertThat(callQueue.queuedCallsCount()).isEqualTo(1);
+
+    running.dispose();
+    assertThat(callQueue.runningCallsCount()).isEqualTo(1);
+    assertThat(callQueue.queuedCallsCount()).isEqualTo(0);
+
+    scheduler.triggerActions();
+    low.assertValue("Hi").assertComplete();
+  }
+
+  @Test public void synchronousCallsDrainWithoutRecursion() {
+    CallQueue callQueue = new CallQueue.Builder().maxConcurrentCalls(1).build();
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .callQueue(callQueue)
+            .build());
+    enqueueResponses(2);
+
+    RecordingSubscriber<String> first = subscriberRule.create();
+    service.first().subscribe(first);
+    first.assertValue("Hi").assertComplete();
+    RecordingSubscriber<String> second = subscriberRule.create();
+    service.first().subscribe(second);
+    second.assertValue("Hi").assertComplete();
+    assertThat(callQueue.runningCallsCount()).isEqualTo(0);
+  }
+
+  @Test public void completionIsNotDelayedByNextQueuedCall() throws Exception {
+    CallQueue callQueue = new CallQueue.Builder().maxConcurrentCalls(1).build();
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .callQueue(callQueue)
+            .build());
+    CountDownLatch aCompleted = new CountDownLatch(1);
+    AtomicBoolean bWaitedForA = new AtomicBoolean();
+    AtomicReference<CompletableFuture<String>> b = new AtomicReference<>();
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+        if (request.getPath().equals("/a")) {
+          // Queue b behind a while a is running.
+          b.set(service.b().subscribeOn(Schedulers.elastic()).toFuture());
+          while (callQueue.queuedCallsCount() == 0) {
+            Thread.yield();
+          }
+          return new MockResponse().setBody("A");
+        }
+        // Responding to b requires a's caller to have been handed its result.
+        bWaitedForA.set(aCompleted.await(5, SECONDS));
+        return new MockResponse().setBody("B");
+      }
+    });
+
+    assertThat(service.a().block(Duration.ofSeconds(10))).isEqualTo("A");
+    aCompleted.countDown();
+    assertThat(b.get().get(5, SECONDS)).isEqualTo("B");
+    assertThat(bWaitedForA.get()).isTrue();
+  }
+
+  @Test public void waitingTenantIsPreferredOverBusyTenant() throws InterruptedException {
+    CallQueue callQueue = callQueueBuilder().maxConcurrentCalls(2).build();
+    Service service = createService(callQueue);
+    enqueueResponses(5);
+
+    List<RecordingSubscriber<String>> subscribers = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      RecordingSubscriber<String> subscriber = subscriberRule.create();
+      service.a().subscriberContext(Context.of(CallQueue.TENANT_KEY, "a")).subscribe(subscriber);
+      subscribers.add(subscriber);
+    }
+    // With no other tenant waiting, "a" borrows every slot.
+    assertThat(callQueue.runningCallsCount("a")).isEqualTo(2);
+
+    RecordingSubscriber<String> b = subscriberRule.create();
+    service.b().subscriberContext(Context.of(CallQueue.TENANT_KEY, "b")).subscribe(b);
+    subscribers.add(b);
+
+    scheduler.triggerActions();
+    for (RecordingSubscriber<String> subscriber : subscribers) {
+      subscriber.assertValue("Hi").assertComplete();
+    }
+    assertRequestOrder("/a", "/a", "/b", "/a", "/a");
+  }
+
+  @Test public void perTenantLimitLeavesSlotsIdle() {
+    CallQueue callQueue = callQueueBuilder()
+        .maxConcurrentCalls(2)
+        .maxConcurrentCallsPerTenant(1)
+        .build();
+    Service service = createService(callQueue);
+    enqueueResponses(2);
+
+    RecordingSubscriber<String> first = subscriberRule.create();
+    service.a().subscriberContext(Context.of(CallQueue.TENANT_KEY, "a")).subscribe(first);
+    RecordingSubscriber<String> second = subscriberRule.create();
+    service.a().subscriberContext(Context.of(CallQueue.TENANT_KEY, "a")).subscribe(second);
+    assertThat(callQueue.runningCallsCount()).isEqualTo(1);
+    assertThat(callQueue.queuedCallsCount()).isEqualTo(1);
+
+    scheduler.triggerActions();
+    first.assertValue("Hi").assertComplete();
+    second.assertValue("Hi").assertComplete();
+  }
+
+  @Test public void tenantsShareSlotsByWeight() {
+    CallQueue callQueue = callQueueBuilder()
+        .maxConcurrentCalls(3)
+        .tenantWeight("a", 2)
+        .build();
+    List<String> started = new ArrayList<>();
+    List<CallQueue.Pending> blockers = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      CallQueue.Pending blocker = new RecordingPending("blocker", started);
+      blockers.add(blocker);
+      callQueue.enqueue(blocker, 0, null);
+    }
+    for (int i = 0; i < 3; i++) {
+      callQueue.enqueue(new RecordingPending("a", started), 0, "a");
+      callQueue.enqueue(new RecordingPending("b", started), 0, "b");
+    }
+
+    for (CallQueue.Pending blocker : blockers) {
+      callQueue.release(blocker);
+    }
+    assertThat(started).containsExactly("blocker", "blocker", "blocker", "a", "b", "a").inOrder();
+    assertThat(callQueue.runningCallsCount("a")).isEqualTo(2);
+    assertThat(callQueue.runningCallsCount("b")).isEqualTo(1);
+  }
+
+  static final class RecordingPending extends CallQueue.Pending {
+    private final String name;
+    private final List<String> started;
+
+    RecordingPending(String name, List<String> started) {
+      this.name = name;
+      this.started = started;
+    }
+
+    @Override void start() {
+      started.add(name);
+    }
+  }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Hooks;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static com.google.common.truth.Truth.assertThat;
+/**
+ * Races cancellation against the delivery of responses and failures from many threads. Each
+ * iteration must produce a well-formed stream, and every response body must be either delivered
+ * or closed.
+ */
+public final class CancellationRaceTest {
+  private static final int ITERATIONS = 10_000;
+
+  @Rule public final HooksResetRule hooksResetRule = new HooksResetRule();
+
+  private final AtomicInteger droppedErrors = new AtomicInteger();
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  @After public void tearDown() {
+    executor.shutdown();
+  }
+
+  /** Runs {@code first} on this thread and {@code second} on another at nearly the same time. */
+  private void race(Runnable first, Runnable second) {
+    AtomicInteger waiting = new AtomicInteger(2);
+    Future<?> future = executor.submit(() -> {
+      waiting.decrementAndGet();
+      while (waiting.get() != 0) {
+        Thread.yield();
+      }
+      second.run();
+    });
+    waiting.decrementAndGet();
+    while (waiting.get() != 0) {
+      Thread.yield();
+    }
+    first.run();
+    try {
+      future.get();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  @Test public void enqueueResponseRacesCancel() {
+    Hooks.onErrorDropped(e -> droppedErrors.incrementAndGet());
+    for (int i = 0; i < ITERATIONS; i++) {
+      FakeCall call = new FakeCall();
+      CountingSubscriber<Response<ResponseBody>> subscriber = new CountingSubscriber<>();
+      new CallEnqueueFlux<>(call, null, false).subscribe(subscriber);
+      TrackingBody body = new TrackingBody();
+
+      race(() -> call.callback.onResponse(call, Response.success(body)),
+          subscriber::cancel);
+
+      subscriber.assertWellFormed();
+      assertThat(subscriber.errors.get()).isEqualTo(0);
+      assertThat(subscriber.values.get() == 1 || body.closed).isTrue();
+      assertThat(subscriber.values.get() == 1 || call.canceled).isTrue();
+    }
+    assertThat(droppedErrors.get()).isEqualTo(0);
+  }
+
+  @Test public void responseAfterCancelIsClosed() {
+    FakeCall call = new FakeCall();
+    CountingSubscriber<Response<ResponseBody>> subscriber = new CountingSubscriber<>();
+    new CallEnqueueFlux<>(call, null, false).subscribe(subscriber);
+    TrackingBody body = new TrackingBody();
+
+    subscriber.cancel();
+    call.callback.onResponse(call, Response.success(body));
+
+    assertThat(call.canceled).isTrue();
+    assertThat(subscriber.values.get()).isEqualTo(0);
+    assertThat(body.closed).isTrue();
+  }
+
+  @Test public void enqueueFailureRacesCancel() {
+    Hooks.onErrorDropped(e -> droppedErrors.incrementAndGet());
+    for (int i = 0; i < ITERATIONS; i++) {
+      FakeCall call = new FakeCall();
+      CountingSubscriber<Response<ResponseBody>> subscriber = new CountingSubscriber<>();
+      new CallEnqueueFlux<>(call, null, false).subscribe(subscriber);
+
+      race(() -> call.callback.onFailure(call, new IOException("Canceled")),
+          subscriber::cancel);
+
+      subscriber.assertWellFormed();
+      assertThat(subscriber.values.get()).isEqualTo(0);
+    }
+    assertThat(droppedErrors.get()).isEqualTo(0);
+  }
+
+  @Test public void executeResponseRacesCancel() {
+    Hooks.onErrorDropped(e -> droppedErrors.incrementAndGet());
+    for (int i = 0; i < ITERATIONS; i++) {
+      TrackingBody body = new TrackingBody();
+      FakeCall call = new FakeCall(body);
+      CountingSubscriber<Response<ResponseBody>> subscriber = new CountingSubscriber<>();
+      Flux<Response<ResponseBody>> flux = new CallExecuteFlux<>(call, false,
+          BlockingCallPolicy.ALLOW);
+
+      race(() -> flux.subscribe(subscriber), subscriber::cancelOnceSubscribed);
+
+      subscriber.assertWellFormed();
+      assertThat(subscriber.values.get() == 1 || body.closed || call.executeFailed).isTrue();
+    }
+    assertThat(droppedErrors.get()).isEqualTo(0);
+  }
+
+  @Test public void bodyErrorRacesCancel() {
+    Hooks.onErrorDropped(e -> droppedErrors.incrementAndGet());
+    for (int i = 0; i < ITERATIONS; i++) {
+      FakeCall call = new FakeCall();
+      CountingSubscriber<ResponseBody> subscriber = new CountingSubscriber<>();
+      new BodyFlux<>(new CallEnqueueFlux<>(call, null, false), false)
+          .subscribe(subscriber);
+      Response<ResponseBody> response =
+          Response.error(404, ResponseBody.create(MediaType.get("text/plain"), "Nope"));
+
+      race(() -> call.callback.onResponse(call, response), subscriber::cancel);
+
+      subscriber.assertWellFormed();
+      assertThat(subscriber.values.get()).isEqualTo(0);
+    }
+    assertThat(droppedErrors.get()).isEqualTo(0);
+  }
+
+  static final class CountingSubscriber<T> implements CoreSubscriber<T> {
+    final AtomicInteger values = new AtomicInteger();
+    final AtomicInteger completions = new AtomicInteger();
+    final AtomicInteger errors = new AtomicInteger();
+    final AtomicInteger signalsAfterTerminal = new AtomicInteger();
+    volatile Subscription subscription;
+
+    @Override public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+      subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override public void onNext(T value) {
+      if (completions.get() + errors.get() != 0) signalsAfterTerminal.incrementAndGet();
+      values.incrementAndGet();
+    }
+
+    @Override public void onError(Throwable throwable) {
+      if (completions.get() + errors.get() != 0) signalsAfterTerminal.incrementAndGet();
+      errors.incrementAndGet();
+    }
+
+    @Override public void onComplete() {
+      if (completions.get() + errors.get() != 0) signalsAfterTerminal.incrementAndGet();
+      completions.incrementAndGet();
+    }
+
+    void cancel() {
+      subscription.cancel();
+    }
+
+    void cancelOnceSubscribed() {
+      Subscription subscription;
+      while ((subscription = this.subscription) == null) {
+        Thread.yield();
+      }
+      subscription.cancel();
+    }
+
+    void assertWellFormed() {
+      assertThat(values.get()).isAtMost(1);
+      assertThat(completions.get() + errors.get()).isAtMost(1);
+      assertThat(signalsAfterTerminal.get()).isEqualTo(0);
+    }
+  }
+
+  static final class TrackingBody extends ResponseBody {
+    volatile boolean closed;
+
+    @Override public MediaType contentType() {
+      return null;
+    }
+
+    @Override public long contentLength() {
+      return 0;
+    }
+
+    @Override public BufferedSource source() {
+      return new Buffer();
+    }
+
+    @Override public void close() {
+      closed = true;
+    }
+  }
+
+  /** A call which is completed by the test rather than by a server. */
+  static final class FakeCall implements Call<ResponseBody> {
+    private final ResponseBody executeBody;
+    volatile Callback<ResponseBody> callback;
+    volatile boolean canceled;
+    volatile boolean executeFailed;
+
+    FakeCall() {
+      this(null);
+    }
+
+    FakeCall(ResponseBody executeBody) {
+      this.executeBody = executeBody;
+    }
+
+    @Override public Response<ResponseBody> execute() throws IOException {
+      if (canceled) {
+        executeFailed = true;
+        throw new IOException("Canceled");
+      }
+      return Response.success(executeBody);
+    }
+
+    @Override public void enqueue(Callback<ResponseBody> callback) {
+      this.callback = callback;
+    }
+
+    @Override public boolean isExecuted() {
+      return callback != null;
+    }
+
+    @Override public void cancel() {
+      canceled = true;
+    }
+
+    @Override public boolean isCanceled() {
+      return canceled;
+    }
+
+    @Override public Call<ResponseBody> clone() {
+      return this; // Each iteration uses a new instance.
+    }
+
+    @Override public Request request() {
+      return new Request.Builder().url("http://example.com/").build();
+    }
+  }
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.time.Duration;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+import retrofit2.HttpException;
+import retrofit2.Response;
+import retrofit2.http.GET;
+import retrofit2.http.Query;
+import retrofit2.http.Url;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static okhttp3.mockwebserver.SocketPolicy.NO_RESPONSE;
+import static org.junit.Assert.fail;
+
+public final class CircuitBreakerTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+  @Rule public final RecordingSubscriber.Rule subscriberRule = new RecordingSubscriber.Rule();
+
+  interface Service {
+    @GET("/") Mono<Response<String>> response();
+    @GET("/") Mono<Result<String>> result();
+    @GET Mono<String> body(@Url HttpUrl url);
+    @SwitchLatest
+    @GET("/") Mono<String> latest(@Query("q") String query);
+    @Timeout(value = 100, unit = MILLISECONDS)
+    @GET("/") Mono<Response<String>> timeout();
+  }
+
+  private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+
+  @After public void tearDown() {
+    scheduler.dispose();
+  }
+
+  private CircuitBreaker.Builder circuitBreakerBuilder() {
+    return new CircuitBreaker.Builder()
+        .windowSize(4)
+        .minimumCalls(4)
+        .halfOpenCalls(1)
+        .openDuration(Duration.ofSeconds(10))
+        .scheduler(scheduler);
+  }
+
+  private void assertResponseCode(Service service, int code) {
+    server.enqueue(new MockResponse().setResponseCode(code));
+    RecordingSubscriber<Response<String>> subscriber = subscriberRule.create();
+    service.response().subscribe(subscriber);
+    assertThat(subscriber.takeValue().code()).isEqualTo(code);
+    subscriber.assertComplete();
+  }
+
+  private void assertRejected(Service service) {
+    RecordingSubscriber<Response<String>> subscriber = subscriberRule.create();
+    service.response().subscribe(subscriber);
+    subscriber.assertError(CircuitBreakerOpenException.class, "Circuit breaker is open");
+  }
+
+  @Test public void opensWhenFailureRateReached() {
+    CircuitBreaker circuitBreaker = circuitBreakerBuilder().build();
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .circuitBreaker(circuitBreaker)
+            .build());
+
+    assertResponseCode(service, 200);
+    assertResponseCode(service, 500);
+    assertResponseCode(service, 200);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    assertResponseCode(service, 503);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+    assertRejected(service);
+    assertThat(server.getRequestCount()).isEqualTo(4);
+  }
+
+  @Test public void clientErrorsAreNotFailures() {
+    CircuitBreaker circuitBreaker = circuitBreakerBuilder().build();
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .circuitBreaker(circuitBreaker)
+            .build());
+
+    for (int i = 0; i < 4; i++) {
+      assertResponseCode(service, 404);
+    }
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test public void rejectionIsWrappedInResult() {
+    CircuitBreaker circuitBreaker = circuitBreakerBuilder().minimumCalls(1).build();
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .circuitBreaker(circuitBreaker)
+            .build());
+    assertResponseCode(service, 500);
+
+    RecordingSubscriber<Result<String>> subscriber = subscriberRule.create();
+    service.result().subscribe(subscriber);
+    Result<String> result = subscriber.takeValue();
+    assertThat(result.error()).isInstanceOf(CircuitBreakerOpenException.class);
+    subscriber.assertComplete();
+  }
+
+  @Test public void halfOpenProbeSuccessCloses() {
+    CircuitBreaker circuitBreaker = circuitBreakerBuilder().minimumCalls(1).build();
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .circuitBreaker(circuitBreaker)
+            .build());
+    assertResponseCode(service, 500);
+
+    scheduler.advanceTimeBy(Duration.ofSeconds(9));
+    assertRejected(service);
+
+    scheduler.advanceTimeBy(Duration.ofSeconds(1));
+    assertResponseCode(service, 200);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    assertResponseCode(service, 200);
+  }
+
+  @Test public void halfOpenProbeFailureReopens() {
+    CircuitBreaker circuitBreaker = circuitBreakerBuilder().minimumCalls(1).build();
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .circuitBreaker(circuitBreaker)
+            .build());
+    assertResponseCode(service, 500);
+
+    scheduler.advanceTimeBy(Duration.ofSeconds(10));
+    assertResponseCode(service, 500);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertRejected(service);
+  }
+
+  @Test public void halfOpenLimitsConcurrentProbes() {
+    CircuitBreaker circuitBreaker = circuitBreakerBuilder().minimumCalls(1).build();
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .circuitBreaker(circuitBreaker)
+            .build());
+    assertResponseCode(service, 500);
+    scheduler.advanceTimeBy(Duration.ofSeconds(10));
+
+    long permit = circuitBreaker.tryAcquire();
+    assertThat(permit).isNotEqualTo(CircuitBreaker.REJECTED);
+    assertRejected(service);
+
+    // A canceled probe returns its permit.
+    circuitBreaker.release(permit);
+    assertResponseCode(service, 200);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test public void callStartedWhileClosedIsNotAProbe() {
+    CircuitBreaker circuitBreaker = circuitBreakerBuilder().minimumCalls(1).build();
+    long slowCall = circuitBreaker.tryAcquire();
+    circuitBreaker.record(circuitBreaker.tryAcquire(), true, circuitBreaker.now());
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+    scheduler.advanceTimeBy(Duration.ofSeconds(10));
+    long probe = circuitBreaker.tryAcquire();
+    assertThat(probe).isNotEqualTo(CircuitBreaker.REJECTED);
+
+    // The call from before the circuit opened finishes while the probe is still in flight.
+    circuitBreaker.record(slowCall, false, circuitBreaker.now());
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    assertThat(circuitBreaker.tryAcquire()).isEqualTo(CircuitBreaker.REJECTED);
+
+    circuitBreaker.record(probe, false, circuitBreaker.now());
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test public void rejectedCallTakesNoRateLimiterPermit() {
+    CircuitBreaker circuitBreaker = circuitBreakerBuilder().minimumCalls(1).build();
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .circuitBreaker(circuitBreaker)
+            .rateLimiter(RateLimiter.createFailFast(0.001, 2))
+            .build());
+    assertResponseCode(service, 500);
+    assertRejected(service);
+
+    scheduler.advanceTimeBy(Duration.ofSeconds(10));
+    assertResponseCode(service, 200);
+  }
+
+  @Test public void rateLimitRejectionIsNotRecorded() {
+    CircuitBreaker circuitBreaker = circuitBreakerBuilder().windowSize(2).minimumCalls(2).build();
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .circuitBreaker(circuitBreaker)
+            .rateLimiter(RateLimiter.createFailFast(0.001, 1))
+            .build());
+    assertResponseCode(service, 200);
+
+    RecordingSubscriber<Response<String>> subscriber = subscriberRule.create();
+    service.response().subscribe(subscriber);
+    subscriber.assertError(RateLimitExceededException.class);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test public void supersededCallIsNotRecorded() {
+    CircuitBreaker circuitBreaker = circuitBreakerBuilder().windowSize(2).minimumCalls(2).build();
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.createAsync()
+            .newBuilder()
+            .circuitBreaker(circuitBreaker)
+            .build());
+    // Only the last call gets a response.
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        return request.getPath().equals("/?q=c")
+            ? new MockResponse().setBody("Hi")
+            : new MockResponse().setSocketPolicy(NO_RESPONSE);
+      }
+    });
+
+    RecordingSubscriber<String> first = subscriberRule.create();
+    service.latest("a").subscribe(first);
+    RecordingSubscriber<String> second = subscriberRule.create();
+    service.latest("b").subscribe(second);
+    first.assertError(CallSupersededException.class);
+    assertThat(service.latest("c").block(Duration.ofSeconds(5))).isEqualTo("Hi");
+    second.assertError(CallSupersededException.class);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test public void deadlineBeforeStartIsNotRecorded() {
+    CircuitBreaker circuitBreaker = circuitBreakerBuilder().windowSize(2).minimumCalls(2).build();
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .circuitBreaker(circuitBreaker)
+            .rateLimiter(RateLimiter.create(0.001, 1, scheduler))
+            .deadlineScheduler(scheduler)
+            .build());
+    assertResponseCode(service, 200);
+
+    // Waits for a permit until its deadline.
+    RecordingSubscriber<Response<String>> subscriber = subscriberRule.create();
+    service.timeout().subscribe(subscriber);
+    scheduler.advanceTimeBy(Duration.ofMillis(100));
+    subscriber.assertError(DeadlineExceededException.class);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test public void opensWhenSlowCallRateReached() {
+    CircuitBreaker circuitBreaker = new CircuitBreaker.Builder()
+        .windowSize(2)
+        .minimumCalls(2)
+        .halfOpenCalls(1)
+        .slowCallDuration(Duration.ZERO)
+        .build();
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .circuitBreaker(circuitBreaker)
+            .build());
+
+    assertResponseCode(service, 200);
+    assertResponseCode(service, 200);
+    assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+  }
+
+  @Test public void perHostCircuitsAreIndependent() {
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .circuitBreakerPerHost(() -> circuitBreakerBuilder().minimumCalls(1).build())
+            .build());
+    HttpUrl localhost = server.url("/").newBuilder().host("localhost").build();
+    HttpUrl loopback = server.url("/").newBuilder().host("127.0.0.1").build();
+
+    server.enqueue(new MockResponse().setResponseCode(500));
+    RecordingSubscriber<String> first = subscriberRule.create();
+    service.body(localhost).subscribe(first);
+    first.assertError(HttpException.class);
+
+    RecordingSubscriber<String> second = subscriberRule.create();
+    service.body(localhost).subscribe(second);
+    second.assertError(CircuitBreakerOpenException.class);
+
+    server.enqueue(new MockResponse().setBody("Hi"));
+    RecordingSubscriber<String> third = subscriberRule.create();
+    service.body(loopback).subscribe(third);
+    third.assertValue("Hi").assertComplete();
+  }
+
+  @Test public void invalidConfigurationThrows() {
+    try {
+      new CircuitBreaker.Builder().failureRateThreshold(0);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessageThat().isEqualTo("threshold must be in (0, 1]: 0.0");
+    }
+    try {
+      new CircuitBreaker.Builder().windowSize(5).minimumCalls(6).build();
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessageThat().isEqualTo("minimumCalls (6) > windowSize (5)");
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.time.Duration;
+import java.util.List;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import retrofit2.Response;
+import retrofit2.http.GET;
+import retrofit2.http.Headers;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public final class ContextHeadersTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+
+  interface Service {
+    @GET("/") Mono<String> body();
+    @GET("/") Mono<Response<String>> response();
+    @GET("/") @Headers("X-Tenant: default") Mono<String> annotated();
+    @GET("/") @Paginated Flux<String> paginated();
+  }
+
+  private Service createService(ReactorCallAdapterFactory factory) {
+    return TestServices.create(Service.class, server, factory.newBuilder()
+        .contextHeader("X-Tenant", "tenant")
+        .contextHeader("X-Trace", "trace")
+        .build());
+  }
+
+  @Test public void contextValuesAreSentAsHeaders() throws InterruptedException {
+    Service service = createService(ReactorCallAdapterFactory.create());
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    String body = service.body()
+        .subscriberContext(Context.of("tenant", "acme", "trace", 42))
+        .block(Duration.ofSeconds(5));
+    assertThat(body).isEqualTo("Hi");
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getHeader("X-Tenant")).isEqualTo("acme");
+    assertThat(request.getHeader("X-Trace")).isEqualTo("42");
+  }
+
+  @Test public void eachSubscriberSendsItsOwnHeaders() throws InterruptedException {
+    Service service = createService(ReactorCallAdapterFactory.createAsync());
+    server.enqueue(new MockResponse().setBody("Hi"));
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    Mono<Response<String>> response = service.response();
+    response.subscriberContext(Context.of("tenant", "acme")).block(Duration.ofSeconds(5));
+    response.subscriberContext(Context.of("tenant", "initech")).block(Duration.ofSeconds(5));
+    assertThat(server.takeRequest().getHeader("X-Tenant")).isEqualTo("acme");
+    assertThat(server.takeRequest().getHeader("X-Tenant")).isEqualTo("initech");
+  }
+
+  @Test public void missingKeysSendRequestUnchanged() throws InterruptedException {
+    Service service = createService(ReactorCallAdapterFactory.create());
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    service.body().block(Duration.ofSeconds(5));
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getHeader("X-Tenant")).isNull();
+    assertThat(request.getHeader("X-Trace")).isNull();
+  }
+
+  @Test public void contextValueReplacesAnnotatedHeader() throws InterruptedException {
+    Service service = createService(ReactorCallAdapterFactory.create());
+    server.enqueue(new MockResponse().setBody("Hi"));
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    service.annotated().subscriberContext(Context.of("tenant", "acme"))
+        .block(Duration.ofSeconds(5));
+    service.annotated().block(Duration.ofSeconds(5));
+    assertThat(server.takeRequest().getHeaders().values("X-Tenant")).containsExactly("acme");
+    assertThat(server.takeRequest().getHeader("X-Tenant")).isEqualTo("default");
+  }
+
+  @Test public void errorResponsesAreConverted() {
+    Service service = createService(ReactorCallAdapterFactory.create());
+    server.enqueue(new MockResponse().setResponseCode(404).setBody("Nope"));
+
+    Response<String> response = service.response()
+        .subscriberContext(Context.of("tenant", "acme"))
+        .block(Duration.ofSeconds(5));
+    assertThat(response.code()).isEqualTo(404);
+    assertThat(response.body()).isNull();
+  }
+
+  @Test public void everyPageSendsHeaders() throws InterruptedException {
+    Service service = createService(ReactorCallAdapterFactory.create());
+    server.enqueue(new MockResponse()
+        .setHeader("Link", "<" + server.url("/2") + ">; rel=\"next\"")
+        .setBody("a\nb"));
+    server.enqueue(new MockResponse().setBody("c"));
+
+    List<String> items = service.paginated()
+        .subscriberContext(Context.of("tenant", "acme"))
+        .collectList()
+        .block(Duration.ofSeconds(5));
+    assertThat(items).containsExactly("a", "b", "c").inOrder();
+    assertThat(server.takeRequest().getHeader("X-Tenant")).isEqualTo("acme");
+    assertThat(server.takeRequest().getHeader("X-Tenant")).isEqualTo("acme");
+  }
+
+  @Test public void nullHeaderNameThrows() {
+    try {
+      ReactorCallAdapterFactory.create().newBuilder().contextHeader(null, "tenant");
+      fail();
+    } catch (NullPointerException e) {
+      assertThat(e).hasMessageThat().isEqualTo("name == null");
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.time.Duration;
+import java.time.Instant;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+import reactor.util.context.Context;
+import retrofit2.http.GET;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static okhttp3.mockwebserver.SocketPolicy.NO_RESPONSE;
+
+public final class DeadlineTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+  @Rule public final RecordingSubscriber.Rule subscriberRule = new RecordingSubscriber.Rule();
+
+  interface Service {
+    @GET("/") Mono<String> body();
+    @GET("/") Mono<Result<String>> result();
+    @Timeout(100) @GET("/") Mono<String> timeout();
+  }
+
+  private Service createService(ReactorCallAdapterFactory factory) {
+    return TestServices.create(Service.class, server,
+        factory.newBuilder().contextDeadlines(true).build());
+  }
+
+  private static Context deadlineIn(Duration duration) {
+    return Context.of(ReactorCallAdapterFactory.DEADLINE_KEY, Instant.now().plus(duration));
+  }
+
+  @Test public void expiredDeadlineSkipsCall() {
+    Service service = createService(ReactorCallAdapterFactory.create());
+
+    RecordingSubscriber<String> subscriber = subscriberRule.create();
+    service.body().subscriberContext(deadlineIn(Duration.ofSeconds(-1))).subscribe(subscriber);
+    subscriber.assertError(DeadlineExceededException.class, "Deadline exceeded");
+    assertThat(server.getRequestCount()).isEqualTo(0);
+  }
+
+  @Test public void deadlineOneMillisecondAgoSkipsCall() {
+    VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    scheduler.advanceTimeBy(Duration.ofSeconds(1));
+    Service service = createService(ReactorCallAdapterFactory.create()
+        .newBuilder()
+        .deadlineScheduler(scheduler)
+        .build());
+    Instant deadline = Instant.ofEpochMilli(scheduler.now(MILLISECONDS) - 1);
+
+    RecordingSubscriber<String> subscriber = subscriberRule.create();
+    service.body()
+        .subscriberContext(Context.of(ReactorCallAdapterFactory.DEADLINE_KEY, deadline))
+        .subscribe(subscriber);
+    subscriber.assertError(DeadlineExceededException.class);
+    assertThat(server.getRequestCount()).isEqualTo(0);
+    scheduler.dispose();
+  }
+
+  @Test public void contextDeadlineIgnoredUnlessEnabled() {
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create());
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    RecordingSubscriber<String> subscriber = subscriberRule.create();
+    service.body().subscriberContext(deadlineIn(Duration.ofSeconds(-1))).subscribe(subscriber);
+    subscriber.assertValue("Hi").assertComplete();
+  }
+
+  @Test public void expiredDeadlineIsWrappedInResult() {
+    Service service = createService(ReactorCallAdapterFactory.create());
+
+    RecordingSubscriber<Result<String>> subscriber = subscriberRule.create();
+    service.result().subscriberContext(deadlineIn(Duration.ofSeconds(-1))).subscribe(subscriber);
+    assertThat(subscriber.takeValue().error()).isInstanceOf(DeadlineExceededException.class);
+    subscriber.assertComplete();
+  }
+
+  @Test public void responseBeforeDeadline() {
+    Service service = createService(ReactorCallAdapterFactory.create());
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    RecordingSubscriber<String> subscriber = subscriberRule.create();
+    service.body().subscriberContext(deadlineIn(Duration.ofSeconds(10))).subscribe(subscriber);
+    subscriber.assertValue("Hi").assertComplete();
+  }
+
+  @Test public void synchronousCallCanceledAtDeadline() {
+    Service service = createService(ReactorCallAdapterFactory.create());
+    server.enqueue(new MockResponse().setSocketPolicy(NO_RESPONSE));
+
+    StepVerifier.create(service.body().subscriberContext(deadlineIn(Duration.ofMillis(100))))
+        .expectError(DeadlineExceededException.class)
+        .verify(Duration.ofSeconds(5));
+  }
+
+  @Test public void asynchronousCallCanceledAtDeadline() {
+    Service service = createService(ReactorCallAdapterFactory.createAsync());
+    server.enqueue(new MockResponse().setSocketPolicy(NO_RESPONSE));
+
+    StepVerifier.create(service.body().subscriberContext(deadlineIn(Duration.ofMillis(100))))
+        .expectError(DeadlineExceededException.class)
+        .verify(Duration.ofSeconds(5));
+  }
+
+  @Test public void timeoutAnnotation() {
+    Service service = createService(ReactorCallAdapterFactory.createAsync());
+    server.enqueue(new MockResponse().setSocketPolicy(NO_RESPONSE));
+
+    StepVerifier.create(service.timeout())
+        .expectError(DeadlineExceededException.class)
+        .verify(Duration.ofSeconds(5));
+  }
+
+  @Test public void earlierOfTimeoutAndDeadlineApplies() {
+    Service service = createService(ReactorCallAdapterFactory.create());
+
+    RecordingSubscriber<String> subscriber = subscriberRule.create();
+    service.timeout().subscriberContext(deadlineIn(Duration.ofSeconds(-1))).subscribe(subscriber);
+    subscriber.assertError(DeadlineExceededException.class);
+    assertThat(server.getRequestCount()).isEqualTo(0);
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import retrofit2.http.GET;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+public final class DispatcherMetricsTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+
+  interface Service {
+    @GET("/") Mono<String> body();
+  }
+
+  private final DispatcherMetrics metrics = new DispatcherMetrics();
+  /** Counts calls which have ended. Notified after {@link #metrics}. */
+  private final Semaphore ended = new Semaphore(0);
+
+  private Service createService(OkHttpClient client) {
+    return TestServices.retrofit(server)
+        .client(client)
+        .addCallAdapterFactory(ReactorCallAdapterFactory.createAsync()
+            .newBuilder()
+            .eventListenerFactory(metrics)
+            .eventListener(new CallEventListener() {
+              @Override public void callEnd(Method method, long nanoTime) {
+                ended.release();
+              }
+            })
+            .build())
+        .build()
+        .create(Service.class);
+  }
+
+  @Test public void callsWaitingForDispatcher() throws Exception {
+    Dispatcher dispatcher = new Dispatcher();
+    dispatcher.setMaxRequests(1);
+    Service service = createService(new OkHttpClient.Builder()
+        .dispatcher(dispatcher)
+        .addInterceptor(metrics.interceptor())
+        .build());
+    server.enqueue(new MockResponse().setBody("Hi").setBodyDelay(200, MILLISECONDS));
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    Flux<String> both = Flux.merge(service.body(), service.body()).cache();
+    both.subscribe();
+    server.takeRequest(5, SECONDS);
+    assertThat(metrics.inFlightCallsCount()).isEqualTo(2);
+    assertThat(metrics.queuedCallsCount()).isEqualTo(1);
+    assertThat(metrics.runningCallsCount()).isEqualTo(1);
+
+    assertThat(both.collectList().block(Duration.ofSeconds(5))).containsExactly("Hi", "Hi");
+    awaitIdle(2);
+
+    Method body = Service.class.getMethod("body");
+    DispatcherMetrics.MethodTimings timings = metrics.timings(body);
+    assertThat(metrics.timings()).containsExactly(body, timings);
+    assertThat(timings.beforeEnqueue().snapshot().count()).isEqualTo(2);
+    LatencyHistogram.Snapshot dispatcherQueue = timings.dispatcherQueue().snapshot();
+    assertThat(dispatcherQueue.count()).isEqualTo(2);
+    assertThat(dispatcherQueue.maxNanos()).isAtLeast(MILLISECONDS.toNanos(150));
+    LatencyHistogram.Snapshot network = timings.network().snapshot();
+    assertThat(network.count()).isEqualTo(2);
+    assertThat(network.maxNanos()).isAtLeast(MILLISECONDS.toNanos(150));
+  }
+
+  @Test public void withoutInterceptor() throws Exception {
+    Service service = createService(new OkHttpClient());
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    assertThat(service.body().block(Duration.ofSeconds(5))).isEqualTo("Hi");
+    awaitIdle(1);
+
+    DispatcherMetrics.MethodTimings timings = metrics.timings(Service.class.getMethod("body"));
+    assertThat(timings.beforeEnqueue().snapshot().count()).isEqualTo(1);
+    assertThat(timings.dispatcherQueue().snapshot().count()).isEqualTo(0);
+    assertThat(timings.network().snapshot().count()).isEqualTo(0);
+  }
+
+  /** Listeners are notified after the subscriber, which may release the blocked test thread. */
+  private void awaitIdle(int calls) throws InterruptedException {
+    assertThat(ended.tryAcquire(calls, 5, SECONDS)).isTrue();
+    assertThat(metrics.inFlightCallsCount()).isEqualTo(0);
+    assertThat(metrics.queuedCallsCount()).isEqualTo(0);
+    assertThat(metrics.runningCallsCount()).isEqualTo(0);
+  }
+}
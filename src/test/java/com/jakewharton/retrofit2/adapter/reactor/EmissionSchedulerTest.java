@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.io.IOException;
+import java.time.Duration;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import retrofit2.http.GET;
+
+import static com.google.common.truth.Truth.assertThat;
+import static okhttp3.mockwebserver.SocketPolicy.DISCONNECT_AFTER_REQUEST;
+import static org.junit.Assert.fail;
+
+public final class EmissionSchedulerTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+
+  interface Service {
+    @GET("/") Mono<String> body();
+  }
+
+  private final Scheduler emissionScheduler = Schedulers.newSingle("emission");
+  private Service service;
+
+  @Before public void setUp() {
+    ReactorCallAdapterFactory factory = ReactorCallAdapterFactory.createAsync()
+        .newBuilder()
+        .emissionScheduler(emissionScheduler)
+        .build();
+    service = TestServices.create(Service.class, server, factory);
+  }
+
+  @After public void tearDown() {
+    emissionScheduler.dispose();
+  }
+
+  @Test public void nullSchedulerThrows() {
+    try {
+      ReactorCallAdapterFactory.createAsync().newBuilder().emissionScheduler(null);
+      fail();
+    } catch (NullPointerException e) {
+      assertThat(e).hasMessageThat().isEqualTo("emissionScheduler == null");
+    }
+  }
+
+  @Test public void synchronousFactoryThrows() {
+    try {
+      ReactorCallAdapterFactory.create().newBuilder().emissionScheduler(emissionScheduler).build();
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessageThat().isEqualTo("emissionScheduler requires createAsync()");
+    }
+  }
+
+  @Test public void responseEmittedOnScheduler() {
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    String thread = service.body()
+        .map(body -> Thread.currentThread().getName())
+        .block(Duration.ofSeconds(5));
+    assertThat(thread).startsWith("emission");
+  }
+
+  @Test public void failureEmittedOnScheduler() {
+    server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AFTER_REQUEST));
+
+    StepVerifier.create(service.body())
+        .consumeErrorWith(e -> {
+          assertThat(e).isInstanceOf(IOException.class);
+          assertThat(Thread.currentThread().getName()).startsWith("emission");
+        })
+        .verify(Duration.ofSeconds(5));
+  }
+}
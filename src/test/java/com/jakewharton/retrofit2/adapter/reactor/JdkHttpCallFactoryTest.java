@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.publisher.Mono;
+import retrofit2.Call;
+import retrofit2.HttpException;
+import retrofit2.http.Body;
+import retrofit2.http.GET;
+import retrofit2.http.Headers;
+import retrofit2.http.POST;
+
+import static com.google.common.truth.Truth.assertThat;
+import static okhttp3.mockwebserver.SocketPolicy.DISCONNECT_AFTER_REQUEST;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+public final class JdkHttpCallFactoryTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+
+  interface Service {
+    @Headers({"X-Greeting: Hello", "Connection: keep-alive"})
+    @GET("/") Mono<String> body();
+    @GET("/") Mono<Result<String>> result();
+    @POST("/") Mono<String> post(@Body String body);
+    @GET("/") Call<String> call();
+    @GET("/") Mono<ResponseBody> rawBody();
+  }
+
+  private static boolean hasHttpClient() {
+    try {
+      Class.forName("java.net.http.HttpClient");
+      return true;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  private Service createService() {
+    return createService(new JdkHttpCallFactory.Builder());
+  }
+
+  private Service createService(JdkHttpCallFactory.Builder callFactory) {
+    assumeTrue(hasHttpClient());
+    return TestServices.retrofit(server)
+        .callFactory(callFactory.build())
+        .addCallAdapterFactory(ReactorCallAdapterFactory.create())
+        .build()
+        .create(Service.class);
+  }
+
+  @Test public void unsupportedBeforeJava11() {
+    assumeFalse(hasHttpClient());
+    try {
+      JdkHttpCallFactory.create();
+      fail();
+    } catch (UnsupportedOperationException e) {
+      assertThat(e).hasMessageThat()
+          .isEqualTo("java.net.http.HttpClient requires Java 11 or newer");
+    }
+  }
+
+  @Test public void body() throws InterruptedException {
+    Service service = createService();
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    assertThat(service.body().block(Duration.ofSeconds(5))).isEqualTo("Hi");
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getHeader("X-Greeting")).isEqualTo("Hello");
+  }
+
+  @Test public void postBody() throws InterruptedException {
+    Service service = createService();
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    assertThat(service.post("Hey").block(Duration.ofSeconds(5))).isEqualTo("Hi");
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getMethod()).isEqualTo("POST");
+    assertThat(request.getHeader("Content-Type")).isEqualTo("text/plain; charset=utf-8");
+    assertThat(request.getBody().readUtf8()).isEqualTo("Hey");
+  }
+
+  @Test public void httpError() {
+    Service service = createService();
+    server.enqueue(new MockResponse().setResponseCode(404).setBody("Nope"));
+
+    try {
+      service.body().block(Duration.ofSeconds(5));
+      fail();
+    } catch (HttpException e) {
+      assertThat(e.code()).isEqualTo(404);
+    }
+  }
+
+  @Test public void networkError() {
+    Service service = createService();
+    // The JDK client retries idempotent requests once when the connection is closed.
+    server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AFTER_REQUEST));
+    server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AFTER_REQUEST));
+
+    Result<String> result = service.result().block(Duration.ofSeconds(5));
+    assertThat(result.error()).isInstanceOf(IOException.class);
+  }
+
+  @Test public void synchronousCall() throws IOException {
+    Service service = createService();
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    retrofit2.Response<String> response = service.call().execute();
+    assertThat(response.body()).isEqualTo("Hi");
+  }
+
+  @Test public void responseBodyIsStreamed() throws IOException {
+    Service service = createService();
+    server.enqueue(new MockResponse().setBody("Hello, world!"));
+
+    ResponseBody body = service.rawBody().block(Duration.ofSeconds(5));
+    assertThat(body.contentLength()).isEqualTo(13);
+    assertThat(body.source().readUtf8(5)).isEqualTo("Hello");
+    assertThat(body.source().readUtf8()).isEqualTo(", world!");
+    body.close();
+  }
+
+  @Test public void redirectsNotFollowedByDefault() {
+    Service service = createService();
+    server.enqueue(new MockResponse().setResponseCode(302).setHeader("Location", "/moved"));
+
+    try {
+      service.body().block(Duration.ofSeconds(5));
+      fail();
+    } catch (HttpException e) {
+      assertThat(e.code()).isEqualTo(302);
+    }
+  }
+
+  @Test public void followRedirects() throws InterruptedException {
+    Service service = createService(new JdkHttpCallFactory.Builder().followRedirects(true));
+    server.enqueue(new MockResponse().setResponseCode(302).setHeader("Location", "/moved"));
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    assertThat(service.body().block(Duration.ofSeconds(5))).isEqualTo("Hi");
+    assertThat(server.takeRequest().getPath()).isEqualTo("/");
+    assertThat(server.takeRequest().getPath()).isEqualTo("/moved");
+  }
+
+  @Test public void builderConfiguresClient() throws InterruptedException {
+    AtomicInteger executions = new AtomicInteger();
+    Executor executor = runnable -> {
+      executions.incrementAndGet();
+      new Thread(runnable).start();
+    };
+    Service service = createService(new JdkHttpCallFactory.Builder()
+        .connectTimeout(Duration.ofSeconds(5))
+        .executor(executor));
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    assertThat(service.body().block(Duration.ofSeconds(5))).isEqualTo("Hi");
+    assertThat(executions.get()).isGreaterThan(0);
+  }
+
+  @Test public void invalidConnectTimeoutThrows() {
+    try {
+      new JdkHttpCallFactory.Builder().connectTimeout(Duration.ZERO);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessageThat().isEqualTo("timeout <= 0: PT0S");
+    }
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.reflect.Method;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.publisher.Flux;
+import retrofit2.http.GET;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static okhttp3.mockwebserver.SocketPolicy.DISCONNECT_AFTER_REQUEST;
+import static org.junit.Assert.fail;
+
+public final class LatencyMetricsTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+
+  interface Service {
+    @GET("/") Flux<String> body();
+  }
+
+  private final LatencyMetrics metrics = new LatencyMetrics();
+  private Service service;
+  private Method body;
+
+  @Before public void setUp() throws NoSuchMethodException {
+    service = TestServices.create(Service.class, server, ReactorCallAdapterFactory.create()
+        .newBuilder()
+        .eventListenerFactory(metrics)
+        .build());
+    body = Service.class.getMethod("body");
+  }
+
+  @Test public void bucketsAreWithinThreePercent() {
+    for (long value = 0; value < 1_000_000; value = value * 3 / 2 + 1) {
+      long highest = LatencyHistogram.highestValue(LatencyHistogram.index(value));
+      assertThat(highest).isAtLeast(value);
+      assertThat((double) highest).isAtMost(value * 1.035 + 1);
+    }
+    long highest = LatencyHistogram.highestValue(LatencyHistogram.index(Long.MAX_VALUE));
+    assertThat(highest).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test public void percentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(MILLISECONDS.toNanos(i));
+    }
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.count()).isEqualTo(1000);
+    assertThat(snapshot.maxNanos()).isEqualTo(MILLISECONDS.toNanos(1000));
+    assertThat(snapshot.meanNanos()).isWithin(1).of(MILLISECONDS.toNanos(1) * 500.5);
+    assertThat((double) snapshot.percentileNanos(50))
+        .isWithin(MILLISECONDS.toNanos(500) * 0.035).of(MILLISECONDS.toNanos(500));
+    assertThat((double) snapshot.percentileNanos(99))
+        .isWithin(MILLISECONDS.toNanos(990) * 0.035).of(MILLISECONDS.toNanos(990));
+    assertThat(snapshot.percentileNanos(100)).isEqualTo(MILLISECONDS.toNanos(1000));
+  }
+
+  @Test public void emptySnapshot() {
+    LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+    assertThat(snapshot.count()).isEqualTo(0);
+    assertThat(snapshot.meanNanos()).isEqualTo(0.0);
+    assertThat(snapshot.percentileNanos(99)).isEqualTo(0);
+  }
+
+  @Test public void invalidPercentileThrows() {
+    try {
+      new LatencyHistogram().snapshot().percentileNanos(101);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessageThat().isEqualTo("percentile must be in [0, 100]: 101.0");
+    }
+  }
+
+  @Test public void recordsPerMethod() {
+    assertThat(metrics.latencies(body)).isNull();
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    service.body().blockLast();
+
+    LatencyMetrics.MethodLatencies latencies = metrics.latencies(body);
+    assertThat(metrics.latencies()).containsExactly(body, latencies);
+    LatencyHistogram.Snapshot timeToResponse = latencies.timeToResponse().snapshot();
+    LatencyHistogram.Snapshot downstream = latencies.downstream().snapshot();
+    LatencyHistogram.Snapshot endToEnd = latencies.endToEnd().snapshot();
+    assertThat(timeToResponse.count()).isEqualTo(1);
+    assertThat(downstream.count()).isEqualTo(1);
+    assertThat(endToEnd.count()).isEqualTo(1);
+    assertThat(endToEnd.maxNanos())
+        .isAtLeast(timeToResponse.maxNanos() + downstream.maxNanos());
+  }
+
+  @Test public void recordsTimeBetweenEvents() {
+    CallEventListener listener = metrics.create(body);
+    listener.callSubscribed(body, 1_000);
+    listener.callCloned(body, null, 2_000);
+    listener.callStart(body, null, 3_000);
+    listener.responseReceived(body, null, 50_000);
+    listener.bodyEmitted(body, 51_000);
+    listener.callEnd(body, 101_000);
+
+    LatencyMetrics.MethodLatencies latencies = metrics.latencies(body);
+    assertThat(latencies.timeToResponse().snapshot().maxNanos()).isEqualTo(49_000);
+    assertThat(latencies.downstream().snapshot().maxNanos()).isEqualTo(50_000);
+    assertThat(latencies.endToEnd().snapshot().maxNanos()).isEqualTo(100_000);
+  }
+
+  @Test public void failureRecordsEndToEndOnly() {
+    server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AFTER_REQUEST));
+
+    service.body().onErrorResume(e -> Flux.empty()).blockLast();
+
+    LatencyMetrics.MethodLatencies latencies = metrics.latencies(body);
+    assertThat(latencies.endToEnd().snapshot().count()).isEqualTo(1);
+    assertThat(latencies.timeToResponse().snapshot().count()).isEqualTo(0);
+    assertThat(latencies.downstream().snapshot().count()).isEqualTo(0);
+  }
+}
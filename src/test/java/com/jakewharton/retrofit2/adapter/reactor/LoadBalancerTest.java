@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.fail;
+
+public final class LoadBalancerTest {
+  @Rule public final MockWebServer serverA = new MockWebServer();
+  @Rule public final MockWebServer serverB = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+
+  interface Service {
+    @GET("/fast") Mono<Response<String>> fast();
+    @GET("/slow") Mono<Response<String>> slow();
+  }
+
+  private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+  private final CountDownLatch releaseSlow = new CountDownLatch(1);
+  private final CountDownLatch slowReceived = new CountDownLatch(1);
+
+  @After public void tearDown() {
+    releaseSlow.countDown();
+  }
+
+  private LoadBalancer.Builder newBuilder() {
+    return new LoadBalancer.Builder()
+        .addBaseUrl(serverA.url("/"))
+        .addBaseUrl(serverB.url("/"))
+        .scheduler(scheduler);
+  }
+
+  private Service createService(LoadBalancer loadBalancer) {
+    OkHttpClient client = new OkHttpClient.Builder()
+        .addInterceptor(loadBalancer.interceptor())
+        .build();
+    Retrofit retrofit = new Retrofit.Builder()
+        .baseUrl("http://service.invalid/")
+        .client(client)
+        .addConverterFactory(new StringConverterFactory())
+        .addCallAdapterFactory(ReactorCallAdapterFactory.createAsync())
+        .build();
+    return retrofit.create(Service.class);
+  }
+
+  /** Responds to {@code /slow} only once the test releases it, and to everything else at once. */
+  private Dispatcher dispatcher(int code) {
+    return new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+        if (request.getPath().equals("/slow")) {
+          slowReceived.countDown();
+          releaseSlow.await(5, SECONDS);
+        }
+        return new MockResponse().setResponseCode(code).setBody("Hi");
+      }
+    };
+  }
+
+  @Test public void noBaseUrlsThrows() {
+    try {
+      new LoadBalancer.Builder().build();
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessageThat().isEqualTo("No base URLs");
+    }
+  }
+
+  @Test public void duplicateBaseUrlThrows() {
+    LoadBalancer.Builder builder = new LoadBalancer.Builder().addBaseUrl("http://a.invalid/");
+    try {
+      builder.addBaseUrl("http://a.invalid/");
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessageThat().isEqualTo("Duplicate base URL: http://a.invalid/");
+    }
+  }
+
+  @Test public void ejectAfterMustBePositive() {
+    try {
+      new LoadBalancer.Builder().ejectAfter(0);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessageThat().isEqualTo("consecutiveFailures < 1: 0");
+    }
+  }
+
+  @Test public void requestIsRewrittenToReplica() throws InterruptedException {
+    LoadBalancer loadBalancer = new LoadBalancer.Builder()
+        .addBaseUrl(serverA.url("/"))
+        .build();
+    Service service = createService(loadBalancer);
+    serverA.enqueue(new MockResponse().setBody("Hi"));
+
+    assertThat(service.fast().block(Duration.ofSeconds(5)).body()).isEqualTo("Hi");
+    RecordedRequest request = serverA.takeRequest();
+    assertThat(request.getPath()).isEqualTo("/fast");
+    assertThat(request.getHeader("Host"))
+        .isEqualTo(serverA.getHostName() + ":" + serverA.getPort());
+  }
+
+  @Test public void leastOutstandingRequestsAvoidsBusyReplica() throws InterruptedException {
+    avoidsBusyReplica(LoadBalancer.Strategy.LEAST_OUTSTANDING_REQUESTS);
+  }
+
+  @Test public void powerOfTwoChoicesAvoidsBusyReplica() throws InterruptedException {
+    avoidsBusyReplica(LoadBalancer.Strategy.POWER_OF_TWO_CHOICES);
+  }
+
+  private void avoidsBusyReplica(LoadBalancer.Strategy strategy) throws InterruptedException {
+    LoadBalancer loadBalancer = newBuilder().strategy(strategy).build();
+    Service service = createService(loadBalancer);
+    serverA.setDispatcher(dispatcher(200));
+    serverB.setDispatcher(dispatcher(200));
+
+    Disposable slow = service.slow().subscribe();
+    assertThat(slowReceived.await(5, SECONDS)).isTrue();
+    boolean busyIsA = serverA.getRequestCount() == 1;
+    HttpUrl busy = busyIsA ? serverA.url("/") : serverB.url("/");
+    assertThat(loadBalancer.outstandingRequests(busy)).isEqualTo(1);
+
+    for (int i = 0; i < 3; i++) {
+      service.fast().block(Duration.ofSeconds(5));
+    }
+    MockWebServer idle = busyIsA ? serverB : serverA;
+    assertThat(idle.getRequestCount()).isEqualTo(3);
+
+    releaseSlow.countDown();
+    slow.dispose();
+  }
+
+  @Test public void failingReplicaIsEjected() {
+    LoadBalancer loadBalancer = newBuilder()
+        .strategy(LoadBalancer.Strategy.LEAST_OUTSTANDING_REQUESTS)
+        .ejectAfter(2)
+        .ejectionDuration(Duration.ofSeconds(10))
+        .build();
+    Service service = createService(loadBalancer);
+    serverA.setDispatcher(dispatcher(503));
+    serverB.setDispatcher(dispatcher(200));
+
+    for (int i = 0; i < 10; i++) {
+      service.fast().block(Duration.ofSeconds(5));
+    }
+    assertThat(serverA.getRequestCount()).isEqualTo(2);
+    assertThat(serverB.getRequestCount()).isEqualTo(8);
+    assertThat(loadBalancer.isEjected(serverA.url("/"))).isTrue();
+
+    scheduler.advanceTimeBy(Duration.ofSeconds(10));
+    assertThat(loadBalancer.isEjected(serverA.url("/"))).isFalse();
+  }
+
+  @Test public void allReplicasEjectedStillSends() {
+    LoadBalancer loadBalancer = new LoadBalancer.Builder()
+        .addBaseUrl(serverA.url("/"))
+        .ejectAfter(1)
+        .scheduler(scheduler)
+        .build();
+    Service service = createService(loadBalancer);
+    serverA.setDispatcher(dispatcher(503));
+
+    service.fast().block(Duration.ofSeconds(5));
+    assertThat(loadBalancer.isEjected(serverA.url("/"))).isTrue();
+
+    assertThat(service.fast().block(Duration.ofSeconds(5)).code()).isEqualTo(503);
+    assertThat(serverA.getRequestCount()).isEqualTo(2);
+  }
+}
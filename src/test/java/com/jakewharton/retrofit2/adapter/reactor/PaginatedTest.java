@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.time.Duration;
+import java.util.List;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import retrofit2.HttpException;
+import retrofit2.http.GET;
+import retrofit2.http.Headers;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public final class PaginatedTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+
+  interface Service {
+    @Paginated
+    @Headers("Authorization: token")
+    @GET("/items") Flux<String> items();
+    @Paginated
+    @GET("/items") Mono<String> mono();
+    @Paginated
+    @SwitchLatest
+    @GET("/items") Flux<String> switchLatest();
+  }
+
+  private Service createService(ReactorCallAdapterFactory factory) {
+    return TestServices.create(Service.class, server, factory);
+  }
+
+  private MockResponse page(String body, String next) {
+    MockResponse response = new MockResponse().setBody(body);
+    if (next != null) {
+      response.addHeader("Link", "<" + next + ">; rel=\"next\", </items?page=1>; rel=\"first\"");
+    }
+    return response;
+  }
+
+  @Test public void followsLinkHeaders() throws InterruptedException {
+    Service service = createService(ReactorCallAdapterFactory.create());
+    server.enqueue(page("a\nb", server.url("/items?page=2").toString()));
+    server.enqueue(page("c\nd", "/items?page=3")); // Relative to the page's URL.
+    server.enqueue(page("e", null));
+
+    List<String> items = service.items().collectList().block(Duration.ofSeconds(5));
+    assertThat(items).containsExactly("a", "b", "c", "d", "e").inOrder();
+
+    assertThat(server.takeRequest().getPath()).isEqualTo("/items");
+    RecordedRequest second = server.takeRequest();
+    assertThat(second.getPath()).isEqualTo("/items?page=2");
+    assertThat(second.getHeader("Authorization")).isEqualTo("token");
+    assertThat(server.takeRequest().getPath()).isEqualTo("/items?page=3");
+  }
+
+  @Test public void cursorPaginator() throws InterruptedException {
+    Service service = createService(ReactorCallAdapterFactory.createAsync().newBuilder()
+        .paginator(page -> {
+          List<?> items = page.body();
+          String last = (String) items.get(items.size() - 1);
+          return last.equals("end")
+              ? null
+              : page.raw().request().url().newBuilder().setQueryParameter("after", last).build();
+        })
+        .build());
+    server.enqueue(page("a\nb", null));
+    server.enqueue(page("c\nend", null));
+
+    List<String> items = service.items().collectList().block(Duration.ofSeconds(5));
+    assertThat(items).containsExactly("a", "b", "c", "end").inOrder();
+    server.takeRequest();
+    assertThat(server.takeRequest().getPath()).isEqualTo("/items?after=b");
+  }
+
+  @Test public void nextPageIsPrefetchedWhileCurrentIsConsumed() {
+    // Calls execute on the subscribing thread so every request that will be sent for the items
+    // consumed so far has been sent by the time each item is received.
+    Service service = createService(ReactorCallAdapterFactory.create());
+    server.enqueue(page("a\nb", "/items?page=2"));
+    server.enqueue(page("c\nd", "/items?page=3"));
+    server.enqueue(page("e\nf", "/items?page=4"));
+    server.enqueue(page("g", null));
+
+    StepVerifier.create(service.items(), 1)
+        .expectNext("a")
+        // Requested before any item of the first page beyond the first was consumed, but nothing
+        // further is fetched until the first page is consumed.
+        .then(() -> assertThat(server.getRequestCount()).isEqualTo(2))
+        .thenRequest(1)
+        .expectNext("b")
+        .then(() -> assertThat(server.getRequestCount()).isEqualTo(3))
+        .thenRequest(Long.MAX_VALUE)
+        .expectNext("c", "d", "e", "f", "g")
+        .expectComplete()
+        .verify(Duration.ofSeconds(5));
+  }
+
+  @Test public void errorPageFails() {
+    Service service = createService(ReactorCallAdapterFactory.createAsync());
+    server.enqueue(page("a", "/items?page=2"));
+    server.enqueue(new MockResponse().setResponseCode(500));
+
+    StepVerifier.create(service.items())
+        .expectNext("a")
+        .expectError(HttpException.class)
+        .verify(Duration.ofSeconds(5));
+  }
+
+  @Test public void cancelStopsPagination() {
+    // Calls execute on the subscribing thread so nothing can be sent after block() returns.
+    Service service = createService(ReactorCallAdapterFactory.create());
+    server.enqueue(page("a\nb", "/items?page=2"));
+    server.enqueue(page("c", "/items?page=3"));
+    server.enqueue(page("d", null));
+
+    List<String> items = service.items().take(1).collectList().block(Duration.ofSeconds(5));
+    assertThat(items).containsExactly("a");
+    assertThat(server.getRequestCount()).isAtMost(2);
+  }
+
+  @Test public void monoIsRejected() {
+    try {
+      createService(ReactorCallAdapterFactory.create()).mono();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasCauseThat().hasMessageThat()
+          .isEqualTo("@Paginated methods must return Flux<Item>");
+    }
+  }
+
+  @Test public void linkTargetsMayContainCommas() throws InterruptedException {
+    Service service = createService(ReactorCallAdapterFactory.create());
+    server.enqueue(new MockResponse()
+        .setBody("a")
+        .addHeader("Link", "</items?page=1&sort=a,b>; rel=\"first\", "
+            + "</items?page=2&sort=a,b>; title=\"x, y\"; rel=\"prefetch next\""));
+    server.enqueue(page("b", null));
+
+    List<String> items = service.items().collectList().block(Duration.ofSeconds(5));
+    assertThat(items).containsExactly("a", "b").inOrder();
+    server.takeRequest();
+    assertThat(server.takeRequest().getPath()).isEqualTo("/items?page=2&sort=a,b");
+  }
+
+  @Test public void pagesAreRateLimited() {
+    Service service = createService(ReactorCallAdapterFactory.create().newBuilder()
+        .rateLimiter(RateLimiter.createFailFast(0.001, 2))
+        .build());
+    server.enqueue(page("a", "/items?page=2"));
+    server.enqueue(page("b", "/items?page=3"));
+    server.enqueue(page("c", null));
+
+    StepVerifier.create(service.items())
+        .expectNext("a", "b")
+        .expectError(RateLimitExceededException.class)
+        .verify(Duration.ofSeconds(5));
+    assertThat(server.getRequestCount()).isEqualTo(2);
+  }
+
+  @Test public void pagesPassThroughCircuitBreaker() {
+    // Every call is slow, so the circuit opens once the first page is recorded.
+    CircuitBreaker circuitBreaker = new CircuitBreaker.Builder()
+        .slowCallDuration(Duration.ZERO)
+        .windowSize(1)
+        .minimumCalls(1)
+        .halfOpenCalls(1)
+        .build();
+    Service service = createService(ReactorCallAdapterFactory.create().newBuilder()
+        .circuitBreaker(circuitBreaker)
+        .build());
+    server.enqueue(page("a", "/items?page=2"));
+    server.enqueue(page("b", null));
+
+    StepVerifier.create(service.items())
+        .expectNext("a")
+        .expectError(CircuitBreakerOpenException.class)
+        .verify(Duration.ofSeconds(5));
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test public void switchLatestIsRejected() {
+    try {
+      createService(ReactorCallAdapterFactory.create()).switchLatest();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasCauseThat().hasMessageThat()
+          .isEqualTo("@SwitchLatest cannot be combined with @Paginated");
+    }
+  }
+}
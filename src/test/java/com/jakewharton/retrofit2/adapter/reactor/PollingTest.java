@@ -0,0 +1,375 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+import reactor.util.context.Context;
+import retrofit2.HttpException;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.fail;
+
+public final class PollingTest {
+  interface Service {
+    @Polling(interval = 1)
+    @GET("/feed") Flux<String> feed();
+    @Polling(interval = 1, maxInterval = 2, unit = SECONDS)
+    @GET("/feed") Flux<String> capped();
+    @Polling(interval = 1)
+    @GET("/feed") Mono<String> mono();
+    @Polling(interval = 0)
+    @GET("/feed") Flux<String> zero();
+    @Polling(interval = 1)
+    @RateLimited("feed")
+    @GET("/feed") Flux<String> rateLimited();
+    @Polling(interval = 1)
+    @Timeout(1)
+    @GET("/feed") Flux<String> timeout();
+    @Polling(interval = 1)
+    @SwitchLatest
+    @GET("/feed") Flux<String> switchLatest();
+    @Polling(interval = 10, unit = MILLISECONDS)
+    @GET("/feed") Flux<String> fast();
+  }
+
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+
+  private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+  private final FakeCallFactory callFactory = new FakeCallFactory();
+  private final Service service = new Retrofit.Builder()
+      .baseUrl("http://example.com/")
+      .callFactory(callFactory)
+      .addConverterFactory(new StringConverterFactory())
+      .addCallAdapterFactory(ReactorCallAdapterFactory.create().newBuilder()
+          .pollingScheduler(scheduler)
+          .deadlineScheduler(scheduler)
+          .rateLimiter("feed", RateLimiter.create(0.1, 1, scheduler))
+          .build())
+      .build()
+      .create(Service.class);
+
+  @Test public void emitsOnlyChangesAndBacksOff() {
+    callFactory.enqueue(200, "v1", "a");
+    callFactory.enqueue(304, null, null);
+    callFactory.enqueue(200, "v2", "a");
+    callFactory.enqueue(200, "v3", "b");
+
+    ValueSubscriber subscriber = new ValueSubscriber(Long.MAX_VALUE);
+    service.feed().subscribe(subscriber);
+    assertThat(subscriber.values).containsExactly("a");
+    assertThat(callFactory.requests.get(0).header("If-None-Match")).isNull();
+
+    scheduler.advanceTimeBy(Duration.ofSeconds(1));
+    assertThat(callFactory.requests).hasSize(2);
+    assertThat(callFactory.requests.get(1).header("If-None-Match")).isEqualTo("v1");
+
+    // Not modified, so the interval doubles.
+    scheduler.advanceTimeBy(Duration.ofSeconds(1));
+    assertThat(callFactory.requests).hasSize(2);
+    scheduler.advanceTimeBy(Duration.ofSeconds(1));
+    assertThat(callFactory.requests).hasSize(3);
+    assertThat(callFactory.requests.get(2).header("If-None-Match")).isEqualTo("v1");
+    assertThat(subscriber.values).containsExactly("a"); // An equal body is not emitted.
+
+    scheduler.advanceTimeBy(Duration.ofSeconds(3));
+    assertThat(callFactory.requests).hasSize(3);
+    scheduler.advanceTimeBy(Duration.ofSeconds(1));
+    assertThat(callFactory.requests).hasSize(4);
+    assertThat(subscriber.values).containsExactly("a", "b").inOrder();
+
+    // A change resets the interval.
+    scheduler.advanceTimeBy(Duration.ofSeconds(1));
+    assertThat(callFactory.requests).hasSize(5);
+    subscriber.dispose();
+  }
+
+  @Test public void maxIntervalCapsBackOff() {
+    callFactory.enqueue(200, "v1", "a");
+
+    ValueSubscriber subscriber = new ValueSubscriber(Long.MAX_VALUE);
+    service.capped().subscribe(subscriber);
+    scheduler.advanceTimeBy(Duration.ofSeconds(1)); // 304, so the next poll is in 2 seconds.
+    assertThat(callFactory.requests).hasSize(2);
+    scheduler.advanceTimeBy(Duration.ofSeconds(2));
+    assertThat(callFactory.requests).hasSize(3);
+    scheduler.advanceTimeBy(Duration.ofSeconds(2));
+    assertThat(callFactory.requests).hasSize(4);
+    subscriber.dispose();
+  }
+
+  @Test public void pausesWithoutDemand() {
+    callFactory.enqueue(200, "v1", "a");
+    callFactory.enqueue(200, "v2", "b");
+
+    ValueSubscriber subscriber = new ValueSubscriber(1);
+    service.feed().subscribe(subscriber);
+    assertThat(subscriber.values).containsExactly("a");
+
+    scheduler.advanceTimeBy(Duration.ofSeconds(30));
+    assertThat(callFactory.requests).hasSize(1);
+
+    subscriber.request(1);
+    assertThat(callFactory.requests).hasSize(2);
+    assertThat(subscriber.values).containsExactly("a", "b").inOrder();
+    subscriber.dispose();
+  }
+
+  @Test public void cancelStopsPolling() {
+    callFactory.enqueue(200, "v1", "a");
+
+    ValueSubscriber subscriber = new ValueSubscriber(Long.MAX_VALUE);
+    service.feed().subscribe(subscriber);
+    subscriber.dispose();
+
+    scheduler.advanceTimeBy(Duration.ofSeconds(30));
+    assertThat(callFactory.requests).hasSize(1);
+  }
+
+  @Test public void httpErrorFails() {
+    callFactory.enqueue(200, "v1", "a");
+    callFactory.enqueue(500, null, "Nope");
+
+    ValueSubscriber subscriber = new ValueSubscriber(Long.MAX_VALUE);
+    service.feed().subscribe(subscriber);
+    scheduler.advanceTimeBy(Duration.ofSeconds(1));
+    assertThat(subscriber.error).isInstanceOf(HttpException.class);
+
+    scheduler.advanceTimeBy(Duration.ofSeconds(30));
+    assertThat(callFactory.requests).hasSize(2);
+  }
+
+  @Test public void requestAndCancelAfterErrorAreIgnored() {
+    callFactory.enqueue(500, null, "Nope");
+
+    ValueSubscriber subscriber = new ValueSubscriber(1);
+    service.feed().subscribe(subscriber);
+    assertThat(subscriber.error).isInstanceOf(HttpException.class);
+
+    subscriber.subscription.request(1);
+    subscriber.subscription.cancel();
+    scheduler.advanceTimeBy(Duration.ofSeconds(30));
+    assertThat(callFactory.requests).hasSize(1);
+  }
+
+  @Test public void requestAndCancelAfterCancelAreIgnored() {
+    callFactory.enqueue(200, "v1", "a");
+
+    ValueSubscriber subscriber = new ValueSubscriber(1);
+    service.feed().subscribe(subscriber);
+    subscriber.subscription.cancel();
+    scheduler.advanceTimeBy(Duration.ofSeconds(1)); // Disposes the worker.
+
+    subscriber.subscription.request(1);
+    subscriber.subscription.cancel();
+    scheduler.advanceTimeBy(Duration.ofSeconds(30));
+    assertThat(callFactory.requests).hasSize(1);
+    assertThat(subscriber.values).containsExactly("a");
+  }
+
+  @Test public void synchronousPollsDoNotBlockPollingScheduler() {
+    server.enqueue(new MockResponse().setBody("a"));
+    server.enqueue(new MockResponse().setBody("b"));
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .blockingCallPolicy(BlockingCallPolicy.FAIL)
+            .build());
+
+    // Polls are started on the parallel scheduler, whose threads must not block.
+    List<String> values = service.fast().take(2).collectList().block(Duration.ofSeconds(5));
+    assertThat(values).containsExactly("a", "b").inOrder();
+  }
+
+  @Test public void monoIsRejected() {
+    try {
+      service.mono();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasCauseThat().hasMessageThat()
+          .isEqualTo("@Polling methods must return Flux<Body>");
+    }
+  }
+
+  @Test public void zeroIntervalIsRejected() {
+    try {
+      service.zero();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasCauseThat().hasMessageThat()
+          .isEqualTo("@Polling interval must be positive: 0");
+    }
+  }
+
+  @Test public void rateLimiterAppliesToEachPoll() {
+    callFactory.enqueue(200, "v1", "a");
+
+    ValueSubscriber subscriber = new ValueSubscriber(Long.MAX_VALUE);
+    service.rateLimited().subscribe(subscriber);
+    assertThat(callFactory.requests).hasSize(1);
+
+    // The next poll is due but the rate limiter allows one call every 10 seconds.
+    scheduler.advanceTimeBy(Duration.ofSeconds(5));
+    assertThat(callFactory.requests).hasSize(1);
+    scheduler.advanceTimeBy(Duration.ofSeconds(5));
+    assertThat(callFactory.requests).hasSize(2);
+    subscriber.dispose();
+  }
+
+  @Test public void timeoutAppliesToEachPoll() {
+    callFactory.enqueue(200, "v1", "a");
+
+    ValueSubscriber subscriber = new ValueSubscriber(Long.MAX_VALUE);
+    service.timeout().subscribe(subscriber);
+    assertThat(subscriber.values).containsExactly("a");
+
+    callFactory.hang = true;
+    scheduler.advanceTimeBy(Duration.ofSeconds(1));
+    assertThat(callFactory.requests).hasSize(2);
+    assertThat(subscriber.error).isNull();
+    scheduler.advanceTimeBy(Duration.ofMillis(1));
+    assertThat(subscriber.error).isInstanceOf(DeadlineExceededException.class);
+  }
+
+  @Test public void contextDeadlineAppliesToEachPoll() {
+    Service service = new Retrofit.Builder()
+        .baseUrl("http://example.com/")
+        .callFactory(callFactory)
+        .addConverterFactory(new StringConverterFactory())
+        .addCallAdapterFactory(ReactorCallAdapterFactory.create().newBuilder()
+            .pollingScheduler(scheduler)
+            .deadlineScheduler(scheduler)
+            .contextDeadlines(true)
+            .build())
+        .build()
+        .create(Service.class);
+    callFactory.enqueue(200, "v1", "a");
+
+    // The deadline is measured with the deadline scheduler's clock.
+    Instant deadline = Instant.ofEpochMilli(scheduler.now(MILLISECONDS) + 1500);
+    ValueSubscriber subscriber = new ValueSubscriber(Long.MAX_VALUE);
+    service.feed()
+        .subscriberContext(Context.of(ReactorCallAdapterFactory.DEADLINE_KEY, deadline))
+        .subscribe(subscriber);
+    assertThat(subscriber.values).containsExactly("a");
+
+    callFactory.hang = true;
+    scheduler.advanceTimeBy(Duration.ofSeconds(1));
+    assertThat(callFactory.requests).hasSize(2);
+    assertThat(subscriber.error).isNull();
+    scheduler.advanceTimeBy(Duration.ofMillis(500));
+    assertThat(subscriber.error).isInstanceOf(DeadlineExceededException.class);
+  }
+
+  @Test public void switchLatestIsRejected() {
+    try {
+      service.switchLatest();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasCauseThat().hasMessageThat()
+          .isEqualTo("@SwitchLatest cannot be combined with @Polling");
+    }
+  }
+
+  static final class ValueSubscriber extends BaseSubscriber<String> {
+    private final long initialRequest;
+    final List<String> values = new ArrayList<>();
+    Throwable error;
+    /** The raw subscription, for calling it after {@link BaseSubscriber} would ignore calls. */
+    Subscription subscription;
+
+    ValueSubscriber(long initialRequest) {
+      this.initialRequest = initialRequest;
+    }
+
+    @Override protected void hookOnSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+      request(initialRequest);
+    }
+
+    @Override protected void hookOnNext(String value) {
+      values.add(value);
+    }
+
+    @Override protected void hookOnError(Throwable throwable) {
+      error = throwable;
+    }
+  }
+
+  /** Responds synchronously from a queue, or with 304 once the queue is empty. */
+  static final class FakeCallFactory implements ReactiveCallFactory {
+    private final OkHttpClient client = new OkHttpClient();
+    final List<Request> requests = new ArrayList<>();
+    private final Deque<okhttp3.Response.Builder> responses = new ArrayDeque<>();
+    /** True to never respond to requests. */
+    boolean hang;
+
+    void enqueue(int code, String etag, String body) {
+      okhttp3.Response.Builder response = new okhttp3.Response.Builder()
+          .protocol(Protocol.HTTP_1_1)
+          .code(code)
+          .message("")
+          .body(ResponseBody.create(null, body != null ? body : ""));
+      if (etag != null) {
+        response.header("ETag", etag);
+      }
+      responses.add(response);
+    }
+
+    @Override public Publisher<okhttp3.Response> execute(Request request) {
+      if (hang) {
+        return Mono.<okhttp3.Response>never().doOnSubscribe(ignored -> requests.add(request));
+      }
+      return Mono.fromCallable(() -> {
+        requests.add(request);
+        okhttp3.Response.Builder response = responses.poll();
+        if (response == null) {
+          enqueue(304, null, null);
+          response = responses.poll();
+        }
+        return response.request(request).build();
+      });
+    }
+
+    @Override public okhttp3.Call newCall(Request request) {
+      return client.newCall(request); // Retrofit creates calls to read their request.
+    }
+  }
+}
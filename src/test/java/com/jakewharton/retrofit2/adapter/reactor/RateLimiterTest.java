@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.time.Duration;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+import retrofit2.http.GET;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public final class RateLimiterTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+  @Rule public final RecordingSubscriber.Rule subscriberRule = new RecordingSubscriber.Rule();
+
+  interface Service {
+    @GET("/") Mono<String> body();
+    @GET("/") Mono<Result<String>> result();
+    @RateLimited("search") @GET("/") Mono<String> search();
+  }
+
+  private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+
+  @After public void tearDown() {
+    scheduler.dispose();
+  }
+
+  @Test public void burstIsImmediateThenCallsWaitForRefill() {
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .rateLimiter(RateLimiter.create(1, 2, scheduler))
+            .build());
+    for (int i = 0; i < 3; i++) {
+      server.enqueue(new MockResponse().setBody("Hi"));
+    }
+
+    RecordingSubscriber<String> first = subscriberRule.create();
+    service.body().subscribe(first);
+    first.assertValue("Hi").assertComplete();
+    RecordingSubscriber<String> second = subscriberRule.create();
+    service.body().subscribe(second);
+    second.assertValue("Hi").assertComplete();
+
+    RecordingSubscriber<String> third = subscriberRule.create();
+    service.body().subscribe(third);
+    third.assertNoEvents();
+    assertThat(server.getRequestCount()).isEqualTo(2);
+
+    scheduler.advanceTimeBy(Duration.ofMillis(999));
+    third.assertNoEvents();
+
+    scheduler.advanceTimeBy(Duration.ofMillis(1));
+    third.assertValue("Hi").assertComplete();
+  }
+
+  @Test public void waitingSynchronousCallDoesNotBlockTimerThread() {
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .rateLimiter(RateLimiter.create(5, 1))
+            .blockingCallPolicy(BlockingCallPolicy.FAIL)
+            .build());
+    server.enqueue(new MockResponse().setBody("Hi"));
+    server.enqueue(new MockResponse().setBody("Hey"));
+
+    assertThat(service.body().block(Duration.ofSeconds(5))).isEqualTo("Hi");
+    // Waits for a permit which is granted on a parallel scheduler thread.
+    assertThat(service.body().block(Duration.ofSeconds(5))).isEqualTo("Hey");
+  }
+
+  @Test public void waitersAreGrantedInSubscriptionOrder() {
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .rateLimiter(RateLimiter.create(1, 1, scheduler))
+            .build());
+    server.enqueue(new MockResponse().setBody("One"));
+    server.enqueue(new MockResponse().setBody("Two"));
+    server.enqueue(new MockResponse().setBody("Three"));
+
+    RecordingSubscriber<String> first = subscriberRule.create();
+    service.body().subscribe(first);
+    first.assertValue("One").assertComplete();
+
+    RecordingSubscriber<String> second = subscriberRule.create();
+    service.body().subscribe(second);
+    RecordingSubscriber<String> third = subscriberRule.create();
+    service.body().subscribe(third);
+
+    scheduler.advanceTimeBy(Duration.ofSeconds(1));
+    second.assertValue("Two").assertComplete();
+    third.assertNoEvents();
+
+    scheduler.advanceTimeBy(Duration.ofSeconds(1));
+    third.assertValue("Three").assertComplete();
+  }
+
+  @Test public void canceledWaiterDoesNotConsumePermit() {
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .rateLimiter(RateLimiter.create(1, 1, scheduler))
+            .build());
+    server.enqueue(new MockResponse().setBody("One"));
+    server.enqueue(new MockResponse().setBody("Two"));
+
+    RecordingSubscriber<String> first = subscriberRule.create();
+    service.body().subscribe(first);
+    first.assertValue("One").assertComplete();
+
+    Disposable canceled = service.body().subscribe();
+    canceled.dispose();
+    RecordingSubscriber<String> second = subscriberRule.create();
+    service.body().subscribe(second);
+
+    scheduler.advanceTimeBy(Duration.ofSeconds(1));
+    second.assertValue("Two").assertComplete();
+    assertThat(server.getRequestCount()).isEqualTo(2);
+  }
+
+  @Test public void failFastRejectsWithoutRequest() {
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .rateLimiter(RateLimiter.createFailFast(0.001, 1))
+            .build());
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    RecordingSubscriber<String> first = subscriberRule.create();
+    service.body().subscribe(first);
+    first.assertValue("Hi").assertComplete();
+
+    RecordingSubscriber<String> second = subscriberRule.create();
+    service.body().subscribe(second);
+    second.assertError(RateLimitExceededException.class, "Rate limit exceeded");
+
+    RecordingSubscriber<Result<String>> third = subscriberRule.create();
+    service.result().subscribe(third);
+    Result<String> result = third.takeValue();
+    assertThat(result.error()).isInstanceOf(RateLimitExceededException.class);
+    third.assertComplete();
+
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test public void namedLimiterAppliesOnlyToAnnotatedMethods() {
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create()
+            .newBuilder()
+            .rateLimiter("search", RateLimiter.createFailFast(0.001, 1))
+            .build());
+    server.enqueue(new MockResponse().setBody("One"));
+    server.enqueue(new MockResponse().setBody("Two"));
+    server.enqueue(new MockResponse().setBody("Three"));
+
+    RecordingSubscriber<String> first = subscriberRule.create();
+    service.search().subscribe(first);
+    first.assertValue("One").assertComplete();
+
+    RecordingSubscriber<String> second = subscriberRule.create();
+    service.search().subscribe(second);
+    second.assertError(RateLimitExceededException.class);
+
+    RecordingSubscriber<String> third = subscriberRule.create();
+    service.body().subscribe(third);
+    third.assertValue("Two").assertComplete();
+  }
+
+  @Test public void unregisteredNameThrows() {
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.create());
+    try {
+      service.search();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasCauseThat().hasMessageThat()
+          .isEqualTo("No rate limiter registered for @RateLimited(\"search\")");
+    }
+  }
+
+  @Test public void invalidArgumentsThrow() {
+    try {
+      RateLimiter.create(0, 1);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessageThat().isEqualTo("permitsPerSecond <= 0: 0.0");
+    }
+    try {
+      RateLimiter.create(1, 0);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessageThat().isEqualTo("burst < 1: 0");
+    }
+  }
+}
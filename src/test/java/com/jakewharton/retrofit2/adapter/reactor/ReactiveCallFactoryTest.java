@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import retrofit2.HttpException;
+import retrofit2.Response;
+import retrofit2.http.GET;
+
+import static com.google.common.truth.Truth.assertThat;
+import static okhttp3.mockwebserver.SocketPolicy.DISCONNECT_AFTER_REQUEST;
+import static org.junit.Assert.fail;
+
+public final class ReactiveCallFactoryTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+  @Rule public final RecordingSubscriber.Rule subscriberRule = new RecordingSubscriber.Rule();
+
+  interface Service {
+    @GET("/") Mono<String> body();
+    @GET("/") Mono<Response<String>> response();
+    @GET("/") Mono<Result<String>> result();
+  }
+
+  private final OkHttpClient client = new OkHttpClient();
+
+  private Service createService(ReactiveCallFactory callFactory) {
+    return TestServices.retrofit(server)
+        .callFactory(callFactory)
+        .addCallAdapterFactory(ReactorCallAdapterFactory.create())
+        .build()
+        .create(Service.class);
+  }
+
+  @Test public void bodyUsesReactiveExecution() {
+    EnqueueingCallFactory callFactory = new EnqueueingCallFactory();
+    Service service = createService(callFactory);
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    assertThat(service.body().block(Duration.ofSeconds(5))).isEqualTo("Hi");
+    assertThat(callFactory.executions.get()).isEqualTo(1);
+  }
+
+  @Test public void eachSubscriptionSendsRequest() {
+    EnqueueingCallFactory callFactory = new EnqueueingCallFactory();
+    Service service = createService(callFactory);
+    server.enqueue(new MockResponse().setBody("Hi"));
+    server.enqueue(new MockResponse().setBody("Hey"));
+
+    Mono<String> body = service.body();
+    assertThat(body.block(Duration.ofSeconds(5))).isEqualTo("Hi");
+    assertThat(body.block(Duration.ofSeconds(5))).isEqualTo("Hey");
+    assertThat(callFactory.executions.get()).isEqualTo(2);
+  }
+
+  @Test public void bodyHttpError() {
+    Service service = createService(new EnqueueingCallFactory());
+    server.enqueue(new MockResponse().setResponseCode(404).setBody("Nope"));
+
+    try {
+      service.body().block(Duration.ofSeconds(5));
+      fail();
+    } catch (HttpException e) {
+      assertThat(e.code()).isEqualTo(404);
+    }
+  }
+
+  @Test public void responseHttpErrorIsBuffered() throws IOException {
+    Service service = createService(new EnqueueingCallFactory());
+    server.enqueue(new MockResponse().setResponseCode(404).setBody("Nope"));
+
+    Response<String> response = service.response().block(Duration.ofSeconds(5));
+    assertThat(response.isSuccessful()).isFalse();
+    assertThat(response.errorBody().string()).isEqualTo("Nope");
+  }
+
+  @Test public void responseNoContent() {
+    Service service = createService(new EnqueueingCallFactory());
+    server.enqueue(new MockResponse().setResponseCode(204));
+
+    Response<String> response = service.response().block(Duration.ofSeconds(5));
+    assertThat(response.code()).isEqualTo(204);
+    assertThat(response.body()).isNull();
+  }
+
+  @Test public void resultNetworkError() {
+    Service service = createService(new EnqueueingCallFactory());
+    server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AFTER_REQUEST));
+
+    Result<String> result = service.result().block(Duration.ofSeconds(5));
+    assertThat(result.isError()).isTrue();
+    assertThat(result.error()).isInstanceOf(IOException.class);
+  }
+
+  @Test public void emptyPublisherFails() {
+    Service service = createService(new EnqueueingCallFactory() {
+      @Override public Publisher<okhttp3.Response> execute(Request request) {
+        return Mono.empty();
+      }
+    });
+
+    RecordingSubscriber<String> subscriber = subscriberRule.create();
+    service.body().subscribe(subscriber);
+    subscriber.assertError(NoSuchElementException.class,
+        "Call factory completed without a response");
+  }
+
+  @Test public void cancelCancelsExecution() {
+    AtomicBoolean canceled = new AtomicBoolean();
+    Service service = createService(new EnqueueingCallFactory() {
+      @Override public Publisher<okhttp3.Response> execute(Request request) {
+        return Mono.<okhttp3.Response>never().doOnCancel(() -> canceled.set(true));
+      }
+    });
+
+    Disposable disposable = service.body().subscribe();
+    assertThat(canceled.get()).isFalse();
+    disposable.dispose();
+    assertThat(canceled.get()).isTrue();
+  }
+
+  /**
+   * Executes requests with OkHttp's asynchronous API and buffers each response body before
+   * emitting it, as an event-loop client would.
+   */
+  class EnqueueingCallFactory implements ReactiveCallFactory {
+    final AtomicInteger executions = new AtomicInteger();
+
+    @Override public okhttp3.Call newCall(Request request) {
+      return client.newCall(request);
+    }
+
+    @Override public Publisher<okhttp3.Response> execute(Request request) {
+      return Mono.create(sink -> {
+        executions.incrementAndGet();
+        okhttp3.Call call = client.newCall(request);
+        sink.onCancel(call::cancel);
+        call.enqueue(new okhttp3.Callback() {
+          @Override public void onResponse(okhttp3.Call call, okhttp3.Response response) {
+            try (ResponseBody body = response.body()) {
+              ResponseBody buffered = ResponseBody.create(body.contentType(), body.bytes());
+              sink.success(response.newBuilder().body(buffered).build());
+            } catch (IOException e) {
+              sink.error(e);
+            }
+          }
+
+          @Override public void onFailure(okhttp3.Call call, IOException e) {
+            sink.error(e);
+          }
+        });
+      });
+    }
+  }
+}
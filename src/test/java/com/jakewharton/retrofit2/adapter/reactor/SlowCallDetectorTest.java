@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.publisher.Mono;
+import retrofit2.http.GET;
+import retrofit2.http.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static okhttp3.mockwebserver.SocketPolicy.DISCONNECT_AFTER_REQUEST;
+import static okhttp3.mockwebserver.SocketPolicy.NO_RESPONSE;
+import static org.junit.Assert.fail;
+
+public final class SlowCallDetectorTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+  @Rule public final RecordingSubscriber.Rule subscriberRule = new RecordingSubscriber.Rule();
+
+  interface Service {
+    @GET("/slow") Mono<String> body();
+    @GET("/{path}") Mono<String> path(@Path("path") String path);
+  }
+
+  private final List<SlowCall> slowCalls = new CopyOnWriteArrayList<>();
+
+  private Service createService(SlowCallDetector.Builder detector) {
+    return TestServices.create(Service.class, server, ReactorCallAdapterFactory.create()
+        .newBuilder()
+        .slowCallDetector(detector.reporter(slowCalls::add).build())
+        .build());
+  }
+
+  @Test public void slowCallReportedWithAssemblySite() throws NoSuchMethodException {
+    Service service = createService(new SlowCallDetector.Builder()
+        .threshold(Duration.ofMillis(50))
+        .sampleRate(1));
+    server.enqueue(new MockResponse().setBody("Hi").setBodyDelay(100, MILLISECONDS));
+
+    RecordingSubscriber<String> subscriber = subscriberRule.create();
+    service.body().subscribe(subscriber);
+    subscriber.assertValue("Hi").assertComplete();
+
+    assertThat(slowCalls).hasSize(1);
+    SlowCall slowCall = slowCalls.get(0);
+    assertThat(slowCall.method()).isEqualTo(Service.class.getMethod("body"));
+    assertThat(slowCall.url()).isEqualTo(server.url("/slow"));
+    assertThat(slowCall.durationNanos()).isAtLeast(MILLISECONDS.toNanos(50));
+    boolean foundCaller = false;
+    for (StackTraceElement element : slowCall.assemblySite().getStackTrace()) {
+      if (element.getMethodName().equals("slowCallReportedWithAssemblySite")) {
+        foundCaller = true;
+      }
+    }
+    assertThat(foundCaller).isTrue();
+  }
+
+  @Test public void fastCallNotReported() {
+    Service service = createService(new SlowCallDetector.Builder()
+        .threshold(Duration.ofSeconds(10))
+        .sampleRate(1));
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    RecordingSubscriber<String> subscriber = subscriberRule.create();
+    service.body().subscribe(subscriber);
+    subscriber.assertValue("Hi").assertComplete();
+    assertThat(slowCalls).isEmpty();
+  }
+
+  @Test public void unsampledCallReportedWithoutAssemblySite() {
+    Service service = createService(new SlowCallDetector.Builder()
+        .threshold(Duration.ZERO)
+        .sampleRate(0));
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    RecordingSubscriber<String> subscriber = subscriberRule.create();
+    service.body().subscribe(subscriber);
+    subscriber.assertValue("Hi").assertComplete();
+    assertThat(slowCalls).hasSize(1);
+    assertThat(slowCalls.get(0).assemblySite()).isNull();
+  }
+
+  @Test public void failureReported() {
+    Service service = createService(new SlowCallDetector.Builder().threshold(Duration.ZERO));
+    server.enqueue(new MockResponse().setSocketPolicy(DISCONNECT_AFTER_REQUEST));
+
+    RecordingSubscriber<String> subscriber = subscriberRule.create();
+    service.body().subscribe(subscriber);
+    subscriber.assertError(IOException.class);
+    assertThat(slowCalls).hasSize(1);
+  }
+
+  @Test public void hungCallReportedWhenCanceled() {
+    Service service = createService(new SlowCallDetector.Builder()
+        .threshold(Duration.ofMillis(50))
+        .sampleRate(1));
+    server.enqueue(new MockResponse().setSocketPolicy(NO_RESPONSE));
+
+    try {
+      service.body().timeout(Duration.ofMillis(100)).block();
+      fail();
+    } catch (RuntimeException e) {
+      assertThat(e).hasCauseThat().isInstanceOf(TimeoutException.class);
+    }
+    assertThat(slowCalls).hasSize(1);
+    SlowCall slowCall = slowCalls.get(0);
+    assertThat(slowCall.canceled()).isTrue();
+    assertThat(slowCall.durationNanos()).isAtLeast(MILLISECONDS.toNanos(50));
+  }
+
+  @Test public void fastCanceledCallNotReported() {
+    Service service = createService(new SlowCallDetector.Builder()
+        .threshold(Duration.ofSeconds(10))
+        .sampleRate(1));
+    server.enqueue(new MockResponse().setSocketPolicy(NO_RESPONSE));
+
+    try {
+      service.body().timeout(Duration.ofMillis(50)).block();
+      fail();
+    } catch (RuntimeException e) {
+      assertThat(e).hasCauseThat().isInstanceOf(TimeoutException.class);
+    }
+    assertThat(slowCalls).isEmpty();
+  }
+
+  @Test public void requestCreationFailureReported() {
+    Service service = createService(new SlowCallDetector.Builder().threshold(Duration.ZERO));
+
+    RecordingSubscriber<String> subscriber = subscriberRule.create();
+    service.path(null).subscribe(subscriber);
+    subscriber.assertError(IllegalArgumentException.class);
+    assertThat(slowCalls).hasSize(1);
+    assertThat(slowCalls.get(0).method()).isNull();
+    assertThat(slowCalls.get(0).url()).isNull();
+  }
+
+  @Test public void reporterRequired() {
+    try {
+      new SlowCallDetector.Builder().build();
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessageThat().isEqualTo("reporter == null");
+    }
+  }
+
+  @Test public void invalidSampleRateThrows() {
+    try {
+      new SlowCallDetector.Builder().sampleRate(1.5);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessageThat().isEqualTo("sampleRate must be in [0, 1]: 1.5");
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+import retrofit2.Response;
+import retrofit2.http.GET;
+import retrofit2.http.Query;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static okhttp3.mockwebserver.SocketPolicy.NO_RESPONSE;
+import static org.junit.Assert.fail;
+
+public final class SwitchLatestTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+
+  interface Service {
+    @SwitchLatest(argument = 0)
+    @GET("/") Mono<String> search(@Query("user") String user, @Query("q") String query);
+    @SwitchLatest(argument = 0)
+    @GET("/") Mono<Result<String>> searchResult(@Query("user") String user);
+    @SwitchLatest
+    @GET("/") Mono<String> anything();
+    @SwitchLatest(argument = 3)
+    @GET("/") Mono<String> missingArgument();
+  }
+
+  private final Service service =
+      TestServices.create(Service.class, server, ReactorCallAdapterFactory.createAsync());
+
+  private static Context key(Object key) {
+    return Context.of(ReactorCallAdapterFactory.SWITCH_LATEST_KEY, key);
+  }
+
+  @Test public void newerCallSupersedesOlder() throws InterruptedException {
+    server.enqueue(new MockResponse().setSocketPolicy(NO_RESPONSE));
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    Mono<String> older = service.search("jake", "r").cache();
+    older.subscribe(value -> { }, error -> { });
+    assertThat(server.takeRequest(5, SECONDS).getPath()).isEqualTo("/?user=jake&q=r");
+
+    assertThat(service.search("jake", "re").block(Duration.ofSeconds(5))).isEqualTo("Hi");
+    StepVerifier.create(older)
+        .expectErrorMessage("Call superseded by a newer call")
+        .verify(Duration.ofSeconds(5));
+  }
+
+  @Test public void differentKeysDoNotSupersede() {
+    server.enqueue(new MockResponse().setBody("Hi").setBodyDelay(200, MILLISECONDS));
+    server.enqueue(new MockResponse().setBody("Hey"));
+
+    Mono<String> both = service.search("jake", "r")
+        .zipWith(service.search("jesse", "r"), (a, b) -> a + " " + b);
+    String result = both.block(Duration.ofSeconds(5));
+    assertThat(result).isAnyOf("Hi Hey", "Hey Hi");
+  }
+
+  @Test public void completedCallDoesNotSupersede() {
+    server.enqueue(new MockResponse().setBody("Hi"));
+    server.enqueue(new MockResponse().setBody("Hey"));
+
+    assertThat(service.search("jake", "r").block(Duration.ofSeconds(5))).isEqualTo("Hi");
+    assertThat(service.search("jake", "re").block(Duration.ofSeconds(5))).isEqualTo("Hey");
+  }
+
+  @Test public void supersededResult() throws InterruptedException {
+    server.enqueue(new MockResponse().setSocketPolicy(NO_RESPONSE));
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    Mono<Result<String>> older = service.searchResult("jake").cache();
+    older.subscribe();
+    server.takeRequest(5, SECONDS);
+
+    assertThat(service.searchResult("jake").block(Duration.ofSeconds(5)).response().body())
+        .isEqualTo("Hi");
+    assertThat(older.block(Duration.ofSeconds(5)).error())
+        .isInstanceOf(CallSupersededException.class);
+  }
+
+  @Test public void contextKeyTakesPrecedence() throws InterruptedException {
+    server.enqueue(new MockResponse().setSocketPolicy(NO_RESPONSE));
+    server.enqueue(new MockResponse().setBody("Hi"));
+    server.enqueue(new MockResponse().setBody("Hey"));
+
+    Mono<String> older = service.anything().subscriberContext(key("a")).cache();
+    older.subscribe(value -> { }, error -> { });
+    server.takeRequest(5, SECONDS);
+
+    // A different key leaves the older call running.
+    assertThat(service.anything().subscriberContext(key("b")).block(Duration.ofSeconds(5)))
+        .isEqualTo("Hi");
+    assertThat(service.anything().subscriberContext(key("a")).block(Duration.ofSeconds(5)))
+        .isEqualTo("Hey");
+    StepVerifier.create(older)
+        .expectError(CallSupersededException.class)
+        .verify(Duration.ofSeconds(5));
+  }
+
+  @Test public void missingArgumentFails() {
+    try {
+      service.missingArgument();
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessageThat()
+          .isEqualTo("@SwitchLatest(argument = 3) but missingArgument has 0 parameters");
+    }
+    assertThat(server.getRequestCount()).isEqualTo(0);
+  }
+
+  @Test public void cancelInOnSubscribeIsNotRegistered() {
+    ConcurrentMap<Object, SwitchLatestFlux.SwitchLatestSubscriber<?>> inFlight =
+        new ConcurrentHashMap<>();
+    SwitchLatestFlux<String> flux =
+        new SwitchLatestFlux<>(Flux.never(), null, -1, inFlight);
+
+    flux.subscriberContext(key("a")).subscribe(new BaseSubscriber<Response<String>>() {
+      @Override protected void hookOnSubscribe(Subscription subscription) {
+        cancel();
+      }
+    });
+    assertThat(inFlight).isEmpty();
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.CallAdapter;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/** Creates services which call a {@link MockWebServer}. */
+final class TestServices {
+  static <T> T create(Class<T> service, MockWebServer server,
+      CallAdapter.Factory callAdapterFactory) {
+    return retrofit(server)
+        .addCallAdapterFactory(callAdapterFactory)
+        .build()
+        .create(service);
+  }
+
+  /**
+   * Returns a builder for calls to {@code server} which converts bodies to a list of their lines
+   * or to a string.
+   */
+  static Retrofit.Builder retrofit(MockWebServer server) {
+    return new Retrofit.Builder()
+        .baseUrl(server.url("/"))
+        .addConverterFactory(new LinesConverterFactory())
+        .addConverterFactory(new StringConverterFactory());
+  }
+
+  /** Converts a body into its lines. */
+  static final class LinesConverterFactory extends Converter.Factory {
+    @Override public Converter<ResponseBody, ?> responseBodyConverter(Type type,
+        Annotation[] annotations, Retrofit retrofit) {
+      if (!(type instanceof ParameterizedType)
+          || ((ParameterizedType) type).getRawType() != List.class) {
+        return null;
+      }
+      return (Converter<ResponseBody, List<String>>) value ->
+          Arrays.asList(value.string().split("\n"));
+    }
+  }
+
+  private TestServices() {
+    throw new AssertionError();
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.publisher.Mono;
+import retrofit2.http.GET;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+public final class VirtualThreadsTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+
+  interface Service {
+    @GET("/") Mono<String> body();
+  }
+
+  private static Method isVirtual() {
+    try {
+      return Thread.class.getMethod("isVirtual");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  @Test public void unsupportedBeforeJava21() {
+    assumeTrue(isVirtual() == null);
+    try {
+      ReactorCallAdapterFactory.createWithVirtualThreads();
+      fail();
+    } catch (UnsupportedOperationException e) {
+      assertThat(e).hasMessageThat().isEqualTo("Virtual threads require Java 21 or newer");
+    }
+  }
+
+  @Test public void executesOnVirtualThread() throws Exception {
+    Method isVirtual = isVirtual();
+    assumeTrue(isVirtual != null);
+
+    Service service = TestServices.create(Service.class, server,
+        ReactorCallAdapterFactory.createWithVirtualThreads());
+    server.enqueue(new MockResponse().setBody("Hi"));
+
+    Thread thread = service.body()
+        .map(body -> Thread.currentThread())
+        .block(Duration.ofSeconds(5));
+    assertThat(thread).isNotSameAs(Thread.currentThread());
+    assertThat(isVirtual.invoke(thread)).isEqualTo(true);
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2026 Jake Wharton
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jakewharton.retrofit2.adapter.reactor;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import retrofit2.CallAdapter;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+public final class WarmUpTest {
+  @Rule public final MockWebServer server = new MockWebServer();
+  @Rule public final TestRule pluginsReset = new HooksResetRule();
+
+  interface Service {
+    @GET("/") Mono<String> body();
+    @GET("/{id}") Flux<Result<String>> result(@Path("id") String id, @Query("n") int n);
+    @GET("/") Mono<String> primitives(@Query("a") long a, @Query("b") boolean b);
+  }
+
+  interface FutureService {
+    @GET("/future") CompletableFuture<String> future();
+  }
+
+  interface InvalidService {
+    Mono<String> missingHttpMethod();
+  }
+
+  /** Counts the adapters which Retrofit asks for. */
+  static final class CountingFactory extends CallAdapter.Factory {
+    final AtomicInteger count = new AtomicInteger();
+    private final CallAdapter.Factory delegate = ReactorCallAdapterFactory.create();
+
+    @Override public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations,
+        Retrofit retrofit) {
+      count.incrementAndGet();
+      return delegate.get(returnType, annotations, retrofit);
+    }
+  }
+
+  private final CountingFactory factory = new CountingFactory();
+  private final OkHttpClient client = new OkHttpClient();
+
+  private Retrofit createRetrofit() {
+    return TestServices.retrofit(server)
+        .client(client)
+        .addCallAdapterFactory(factory)
+        .build();
+  }
+
+  @Test public void resolvesEveryMethodWithoutSendingRequests() {
+    Retrofit retrofit = createRetrofit();
+
+    WarmUp.warmUp(retrofit, Service.class, 0).block(Duration.ofSeconds(30));
+    assertThat(factory.count.get()).isEqualTo(3);
+    assertThat(server.getRequestCount()).isEqualTo(0);
+
+    // Later calls use the adapters which were cached by the warm-up.
+    server.enqueue(new MockResponse().setBody("Hi"));
+    Service service = retrofit.create(Service.class);
+    assertThat(service.body().block(Duration.ofSeconds(5))).isEqualTo("Hi");
+    assertThat(factory.count.get()).isEqualTo(3);
+  }
+
+  @Test public void futureMethodsAreNotInvoked() throws InterruptedException {
+    Retrofit retrofit = createRetrofit();
+
+    WarmUp.warmUp(retrofit, FutureService.class, 0).block(Duration.ofSeconds(30));
+    // Its call adapter was resolved, but invoking the method would have sent the call.
+    assertThat(factory.count.get()).isEqualTo(1);
+
+    server.enqueue(new MockResponse().setBody("Hi"));
+    retrofit.create(Service.class).body().block(Duration.ofSeconds(5));
+    assertThat(server.takeRequest().getPath()).isEqualTo("/");
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test public void opensConnectionsToBaseUrl() throws InterruptedException {
+    Retrofit retrofit = createRetrofit();
+    for (int i = 0; i < 3; i++) {
+      server.enqueue(new MockResponse());
+    }
+
+    WarmUp.warmUp(retrofit, Service.class, 3).block(Duration.ofSeconds(30));
+    assertThat(server.getRequestCount()).isEqualTo(3);
+    for (int i = 0; i < 3; i++) {
+      RecordedRequest request = server.takeRequest();
+      assertThat(request.getMethod()).isEqualTo("HEAD");
+      assertThat(request.getPath()).isEqualTo("/");
+    }
+    assertThat(client.connectionPool().idleConnectionCount()).isAtLeast(1);
+
+    // The first real call reuses a warm connection.
+    server.enqueue(new MockResponse().setBody("Hi"));
+    retrofit.create(Service.class).body().block(Duration.ofSeconds(5));
+    assertThat(server.takeRequest().getSequenceNumber()).isGreaterThan(0);
+  }
+
+  @Test public void unsuccessfulResponsesDoNotFail() {
+    Retrofit retrofit = createRetrofit();
+    server.enqueue(new MockResponse().setResponseCode(405));
+
+    WarmUp.warmUp(retrofit, Service.class, 1).block(Duration.ofSeconds(30));
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test public void invalidMethodFails() {
+    Retrofit retrofit = createRetrofit();
+    try {
+      WarmUp.warmUp(retrofit, InvalidService.class, 0).block(Duration.ofSeconds(30));
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessageThat().contains("HTTP method annotation is required");
+    }
+  }
+
+  @Test public void negativeConnectionsThrows() {
+    try {
+      WarmUp.warmUp(createRetrofit(), Service.class, -1);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertThat(e).hasMessageThat().isEqualTo("connections < 0: -1");
+    }
+  }
+}